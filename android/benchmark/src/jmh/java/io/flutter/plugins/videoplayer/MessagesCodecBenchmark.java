@@ -0,0 +1,76 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import io.flutter.plugin.common.StandardMessageCodec;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Round trips of pigeon messages through the codec the generated channels use. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MessagesCodecBenchmark {
+  private final StandardMessageCodec codec = new StandardMessageCodec();
+
+  private Messages.CreateMessage createMessage;
+  private Messages.PositionMessage positionMessage;
+  private ByteBuffer encodedCreateMessage;
+  private ByteBuffer encodedPositionMessage;
+
+  @Setup
+  public void setUp() {
+    createMessage = new Messages.CreateMessage();
+    createMessage.setUri("https://example.com/videos/clip.m3u8");
+    createMessage.setFormatHint("hls");
+    createMessage.setTextureId(3L);
+    Map<Object, Object> httpHeaders = new HashMap<>();
+    httpHeaders.put("Authorization", "Bearer 0123456789abcdef");
+    httpHeaders.put("User-Agent", "video_player");
+    createMessage.setHttpHeaders(httpHeaders);
+
+    positionMessage = new Messages.PositionMessage();
+    positionMessage.setTextureId(3L);
+    positionMessage.setPosition(123456L);
+
+    encodedCreateMessage = codec.encodeMessage(createMessage.toMap());
+    encodedPositionMessage = codec.encodeMessage(positionMessage.toMap());
+  }
+
+  @Benchmark
+  public ByteBuffer encodeCreateMessage() {
+    return codec.encodeMessage(createMessage.toMap());
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public Messages.CreateMessage decodeCreateMessage() {
+    encodedCreateMessage.rewind();
+    return Messages.CreateMessage.fromMap(
+        (Map<String, Object>) codec.decodeMessage(encodedCreateMessage));
+  }
+
+  @Benchmark
+  public ByteBuffer encodePositionMessage() {
+    return codec.encodeMessage(positionMessage.toMap());
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public Messages.PositionMessage decodePositionMessage() {
+    encodedPositionMessage.rewind();
+    return Messages.PositionMessage.fromMap(
+        (Map<String, Object>) codec.decodeMessage(encodedPositionMessage));
+  }
+}
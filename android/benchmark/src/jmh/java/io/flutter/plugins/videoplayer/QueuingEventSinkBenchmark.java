@@ -0,0 +1,102 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import io.flutter.plugin.common.EventChannel;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class QueuingEventSinkBenchmark {
+  private static final int BURST = 256;
+
+  private final Map<String, Object> bufferingUpdate = VideoEvents.bufferingUpdate(1000);
+  private final Map<String, Object> initialized = VideoEvents.initialized(60000, 1920, 1080, 0);
+
+  private QueuingEventSink attachedSink;
+  private QueuingEventSink detachedSink;
+  private QueuingEventSink fullSink;
+  private EventChannel.EventSink delegate;
+
+  @Setup(Level.Trial)
+  public void setUpDelegate(Blackhole blackhole) {
+    delegate =
+        new EventChannel.EventSink() {
+          @Override
+          public void success(Object event) {
+            blackhole.consume(event);
+          }
+
+          @Override
+          public void error(String errorCode, String errorMessage, Object errorDetails) {
+            blackhole.consume(errorCode);
+          }
+
+          @Override
+          public void endOfStream() {}
+        };
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpSinks() {
+    attachedSink = new QueuingEventSink();
+    attachedSink.setDelegate(delegate);
+    detachedSink = new QueuingEventSink();
+    // Lifecycle events are never dropped, so a sink full of them drops every new buffering update.
+    fullSink = new QueuingEventSink();
+    for (int i = 0; i < QueuingEventSink.DEFAULT_CAPACITY; i++) {
+      fullSink.success(initialized);
+    }
+  }
+
+  /** Delivery straight through to an attached delegate. */
+  @Benchmark
+  public void successAttached() {
+    attachedSink.success(initialized);
+  }
+
+  /** Delivery with four threads calling into the same sink, only meaningful on 4 or more CPUs. */
+  @Benchmark
+  @Threads(4)
+  public void successAttachedContended() {
+    attachedSink.success(initialized);
+  }
+
+  /** Queuing while detached, where buffering updates replace the queued one. */
+  @Benchmark
+  public void coalesceDetached() {
+    detachedSink.success(bufferingUpdate);
+  }
+
+  /** Queuing while detached and full of lifecycle events, where every new update is dropped. */
+  @Benchmark
+  public void dropDetached() {
+    fullSink.success(bufferingUpdate);
+  }
+
+  /** Fills a new sink with a burst of events and flushes it on attach. */
+  @Benchmark
+  @OperationsPerInvocation(BURST)
+  public void burstThenAttach() {
+    QueuingEventSink sink = new QueuingEventSink();
+    for (int i = 0; i < BURST; i++) {
+      sink.success((i & 1) == 0 ? initialized : bufferingUpdate);
+    }
+    sink.setDelegate(delegate);
+  }
+}
@@ -0,0 +1,118 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.RendererCapabilities;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.MappingTrackSelector.MappedTrackInfo;
+import com.google.android.exoplayer2.ui.TrackNameProvider;
+import com.google.android.exoplayer2.util.MimeTypes;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Track enumeration for {@code getAudios} and {@code getSubtitles} against a synthetic video, audio
+ * and text renderer layout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TrackIndexBenchmark {
+  /** Number of audio and of text track groups, each with two tracks. */
+  @Param({"2", "16"})
+  public int groupCount;
+
+  private final TrackNameProvider nameProvider = format -> format.language + " " + format.id;
+
+  private MappedTrackInfo mappedTrackInfo;
+  private TrackIndex audioTracks;
+  private String lastAudioName;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    TrackGroupArray video =
+        new TrackGroupArray(
+            new TrackGroup(format("video", MimeTypes.VIDEO_H264, null)));
+    TrackGroupArray audio = trackGroups("audio", MimeTypes.AUDIO_AAC);
+    TrackGroupArray text = trackGroups("text", MimeTypes.TEXT_VTT);
+    TrackGroupArray[] rendererTrackGroups = {video, audio, text};
+    int[][][] formatSupports = new int[rendererTrackGroups.length][][];
+    for (int i = 0; i < rendererTrackGroups.length; i++) {
+      formatSupports[i] = new int[rendererTrackGroups[i].length][];
+      for (int j = 0; j < rendererTrackGroups[i].length; j++) {
+        formatSupports[i][j] = new int[rendererTrackGroups[i].get(j).length];
+        for (int k = 0; k < formatSupports[i][j].length; k++) {
+          formatSupports[i][j][k] = RendererCapabilities.create(C.FORMAT_HANDLED);
+        }
+      }
+    }
+    // The constructor is package-private, ExoPlayer only builds these during track selection.
+    Constructor<MappedTrackInfo> constructor =
+        MappedTrackInfo.class.getDeclaredConstructor(
+            String[].class,
+            int[].class,
+            TrackGroupArray[].class,
+            int[].class,
+            int[][][].class,
+            TrackGroupArray.class);
+    constructor.setAccessible(true);
+    mappedTrackInfo =
+        constructor.newInstance(
+            new String[] {"video", "audio", "text"},
+            new int[] {C.TRACK_TYPE_VIDEO, C.TRACK_TYPE_AUDIO, C.TRACK_TYPE_TEXT},
+            rendererTrackGroups,
+            new int[3],
+            formatSupports,
+            TrackGroupArray.EMPTY);
+
+    audioTracks = buildAudioIndex();
+    lastAudioName = audioTracks.getNames().get(audioTracks.size() - 1);
+  }
+
+  @Benchmark
+  public TrackIndex buildAudioIndex() {
+    return TrackIndex.build(mappedTrackInfo, C.TRACK_TYPE_AUDIO, nameProvider);
+  }
+
+  @Benchmark
+  public TrackIndex buildSubtitleIndex() {
+    return TrackIndex.build(mappedTrackInfo, C.TRACK_TYPE_TEXT, nameProvider);
+  }
+
+  @Benchmark
+  public int lookUpAudioByName() {
+    return audioTracks.indexOf(lastAudioName);
+  }
+
+  private TrackGroupArray trackGroups(String id, String mimeType) {
+    TrackGroup[] groups = new TrackGroup[groupCount];
+    for (int i = 0; i < groupCount; i++) {
+      String language = "l" + i;
+      groups[i] =
+          new TrackGroup(
+              format(id + i + "a", mimeType, language), format(id + i + "b", mimeType, language));
+    }
+    return new TrackGroupArray(groups);
+  }
+
+  private static Format format(String id, String mimeType, String language) {
+    return new Format.Builder()
+        .setId(id)
+        .setSampleMimeType(mimeType)
+        .setLanguage(language)
+        .build();
+  }
+}
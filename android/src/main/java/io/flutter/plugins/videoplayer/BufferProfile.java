@@ -0,0 +1,126 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.upstream.DefaultAllocator;
+import java.util.Map;
+
+/**
+ * How much media a player buffers, see {@link DefaultLoadControl.Builder} for the meaning of each
+ * value.
+ *
+ * <p>A profile is sent from Dart as a map with an optional {@code preset} name and any of the
+ * fields below overriding the preset's value.
+ */
+final class BufferProfile {
+  /** ExoPlayer's defaults. */
+  static final BufferProfile DEFAULT =
+      new BufferProfile(
+          DefaultLoadControl.DEFAULT_MIN_BUFFER_MS,
+          DefaultLoadControl.DEFAULT_MAX_BUFFER_MS,
+          DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS,
+          DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS,
+          DefaultLoadControl.DEFAULT_TARGET_BUFFER_BYTES,
+          DefaultLoadControl.DEFAULT_PRIORITIZE_TIME_OVER_SIZE_THRESHOLDS);
+
+  /** Starts playing as soon as half a second is buffered, for short clips. */
+  static final BufferProfile LOW_LATENCY_START =
+      new BufferProfile(15000, 30000, 500, 2000, C.LENGTH_UNSET, false);
+
+  /** Keeps little media in memory, for screens with several players. */
+  static final BufferProfile MEMORY_SAVER =
+      new BufferProfile(5000, 15000, 1500, 3000, 4 * 1024 * 1024, false);
+
+  /** Deep buffers for long-form video on demand. */
+  static final BufferProfile LONG_FORM =
+      new BufferProfile(60000, 180000, 2500, 5000, C.LENGTH_UNSET, true);
+
+  final int minBufferMs;
+  final int maxBufferMs;
+  final int bufferForPlaybackMs;
+  final int bufferForPlaybackAfterRebufferMs;
+  /** Upper bound of the buffer in bytes, or {@link C#LENGTH_UNSET} to derive it from the tracks. */
+  final int targetBufferBytes;
+  final boolean prioritizeTimeOverSizeThresholds;
+
+  BufferProfile(
+      int minBufferMs,
+      int maxBufferMs,
+      int bufferForPlaybackMs,
+      int bufferForPlaybackAfterRebufferMs,
+      int targetBufferBytes,
+      boolean prioritizeTimeOverSizeThresholds) {
+    if (bufferForPlaybackMs < 0
+        || bufferForPlaybackAfterRebufferMs < 0
+        || minBufferMs < bufferForPlaybackMs
+        || minBufferMs < bufferForPlaybackAfterRebufferMs
+        || maxBufferMs < minBufferMs) {
+      throw new IllegalArgumentException(
+          "Buffer durations must satisfy 0 <= bufferForPlayback(AfterRebuffer)Ms <= minBufferMs"
+              + " <= maxBufferMs");
+    }
+    this.minBufferMs = minBufferMs;
+    this.maxBufferMs = maxBufferMs;
+    this.bufferForPlaybackMs = bufferForPlaybackMs;
+    this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+    this.targetBufferBytes = targetBufferBytes;
+    this.prioritizeTimeOverSizeThresholds = prioritizeTimeOverSizeThresholds;
+  }
+
+  /** Returns the profile described by {@code map}, or {@code fallback} if the map is null. */
+  static BufferProfile fromMap(Map<Object, Object> map, BufferProfile fallback) {
+    if (map == null) {
+      return fallback;
+    }
+    BufferProfile base = fallback;
+    Object preset = map.get("preset");
+    if (preset != null) {
+      base = forPreset(preset.toString());
+    }
+    Object targetBufferBytes = map.get("targetBufferBytes");
+    Object prioritizeTime = map.get("prioritizeTimeOverSizeThresholds");
+    return new BufferProfile(
+        intValue(map.get("minBufferMs"), base.minBufferMs),
+        intValue(map.get("maxBufferMs"), base.maxBufferMs),
+        intValue(map.get("bufferForPlaybackMs"), base.bufferForPlaybackMs),
+        intValue(
+            map.get("bufferForPlaybackAfterRebufferMs"), base.bufferForPlaybackAfterRebufferMs),
+        intValue(targetBufferBytes, base.targetBufferBytes),
+        prioritizeTime == null
+            ? base.prioritizeTimeOverSizeThresholds
+            : (Boolean) prioritizeTime);
+  }
+
+  static BufferProfile forPreset(String preset) {
+    switch (preset) {
+      case "default":
+        return DEFAULT;
+      case "low-latency-start":
+        return LOW_LATENCY_START;
+      case "memory-saver":
+        return MEMORY_SAVER;
+      case "long-form":
+        return LONG_FORM;
+      default:
+        throw new IllegalArgumentException("Unknown buffer preset: " + preset);
+    }
+  }
+
+  DefaultLoadControl buildLoadControl(DefaultAllocator allocator) {
+    return new DefaultLoadControl.Builder()
+        .setAllocator(allocator)
+        .setBufferDurationsMs(
+            minBufferMs, maxBufferMs, bufferForPlaybackMs, bufferForPlaybackAfterRebufferMs)
+        .setTargetBufferBytes(targetBufferBytes)
+        .setPrioritizeTimeOverSizeThresholds(prioritizeTimeOverSizeThresholds)
+        .build();
+  }
+
+  private static int intValue(Object value, int fallback) {
+    return value == null ? fallback : ((Number) value).intValue();
+  }
+}
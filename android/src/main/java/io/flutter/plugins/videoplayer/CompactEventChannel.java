@@ -0,0 +1,135 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import android.os.Looper;
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryCodec;
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Sends a player's high frequency events as fixed size records over a {@link BinaryCodec} channel
+ * instead of {@link io.flutter.plugin.common.StandardMessageCodec} maps.
+ *
+ * <p>Dart opts in by sending {@link #MODE_ALL} on the channel, or {@link #MODE_PROGRESS} to only
+ * receive progress this way, and opts out with {@link #MODE_OFF}. Each record is {@link
+ * #RECORD_SIZE} little endian bytes:
+ *
+ * <pre>
+ *   0  int8   event type, {@link #EVENT_BUFFERING_UPDATE} or {@link #EVENT_PROGRESS}
+ *   8  int64  position in milliseconds
+ *   16 int64  buffered position in milliseconds
+ *   24 int64  playback state
+ * </pre>
+ *
+ * <p>Values may be written from any thread. The record is encoded into a single reused direct
+ * buffer on the platform thread, and a newer value of the same type replaces one that hasn't been
+ * sent yet.
+ */
+final class CompactEventChannel implements BasicMessageChannel.MessageHandler<ByteBuffer> {
+  static final byte EVENT_BUFFERING_UPDATE = 1;
+  static final byte EVENT_PROGRESS = 2;
+  static final int RECORD_SIZE = 32;
+  static final byte MODE_OFF = 0;
+  static final byte MODE_ALL = 1;
+  static final byte MODE_PROGRESS = 2;
+
+  private final BasicMessageChannel<ByteBuffer> channel;
+  private final Handler platformHandler = new Handler(Looper.getMainLooper());
+  private final ByteBuffer record =
+      ByteBuffer.allocateDirect(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+  private volatile byte mode = MODE_OFF;
+
+  private long bufferedPosition;
+  private long progressPosition;
+  private long progressBufferedPosition;
+  private long progressState;
+
+  private final Runnable bufferingUpdateSender =
+      () -> {
+        long buffered;
+        synchronized (this) {
+          buffered = bufferedPosition;
+        }
+        send(EVENT_BUFFERING_UPDATE, 0, buffered, 0);
+      };
+
+  private final Runnable progressSender =
+      () -> {
+        long position;
+        long buffered;
+        long state;
+        synchronized (this) {
+          position = progressPosition;
+          buffered = progressBufferedPosition;
+          state = progressState;
+        }
+        send(EVENT_PROGRESS, position, buffered, state);
+      };
+
+  CompactEventChannel(BinaryMessenger messenger, String name) {
+    channel = new BasicMessageChannel<>(messenger, name, BinaryCodec.INSTANCE);
+    channel.setMessageHandler(this);
+  }
+
+  /** Whether buffering updates are sent as records. */
+  boolean isEnabled() {
+    return mode == MODE_ALL;
+  }
+
+  /** Whether progress is sent as records. */
+  boolean isProgressEnabled() {
+    return mode != MODE_OFF;
+  }
+
+  void sendBufferingUpdate(long bufferedPosition) {
+    synchronized (this) {
+      this.bufferedPosition = bufferedPosition;
+    }
+    platformHandler.removeCallbacks(bufferingUpdateSender);
+    platformHandler.post(bufferingUpdateSender);
+  }
+
+  void sendProgress(long position, long bufferedPosition, int playbackState) {
+    synchronized (this) {
+      progressPosition = position;
+      progressBufferedPosition = bufferedPosition;
+      progressState = playbackState;
+    }
+    platformHandler.removeCallbacks(progressSender);
+    platformHandler.post(progressSender);
+  }
+
+  void dispose() {
+    mode = MODE_OFF;
+    channel.setMessageHandler(null);
+    platformHandler.removeCallbacks(bufferingUpdateSender);
+    platformHandler.removeCallbacks(progressSender);
+  }
+
+  @Override
+  public void onMessage(ByteBuffer message, BasicMessageChannel.Reply<ByteBuffer> reply) {
+    mode =
+        message != null && message.remaining() > 0 ? message.get(message.position()) : MODE_OFF;
+    reply.reply(null);
+  }
+
+  private void send(byte type, long position, long bufferedPosition, long playbackState) {
+    if (type == EVENT_PROGRESS ? !isProgressEnabled() : !isEnabled()) {
+      return;
+    }
+    // The messenger copies the bytes before send returns, and reads the record length from the
+    // buffer position, so the buffer can be rewritten for the next record.
+    record.put(0, type);
+    record.position(8);
+    record.putLong(position);
+    record.putLong(bufferedPosition);
+    record.putLong(playbackState);
+    channel.send(record);
+  }
+}
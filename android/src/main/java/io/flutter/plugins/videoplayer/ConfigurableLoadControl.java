@@ -0,0 +1,161 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.SystemClock;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.Renderer;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.ExoTrackSelection;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.google.android.exoplayer2.upstream.DefaultAllocator;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link LoadControl} whose {@link BufferProfile} can change between uses of a pooled player, and
+ * which stops loading once the players sharing a {@link Budget} hold more media than it allows.
+ *
+ * <p>A new profile applies from the player's next prepare. The allocator is kept across profiles,
+ * since the player only asks for it once.
+ */
+final class ConfigurableLoadControl implements LoadControl {
+  /** A cap on the media held in memory by all the players it is shared with. */
+  static final class Budget {
+    private final CopyOnWriteArrayList<ConfigurableLoadControl> loadControls =
+        new CopyOnWriteArrayList<>();
+    private volatile long maxBytes;
+    private volatile long pressureMaxBytes;
+    private volatile long pressureEndTimeMs;
+
+    /** Sets the cap in bytes, 0 for none. */
+    void setMaxBytes(long maxBytes) {
+      this.maxBytes = maxBytes;
+    }
+
+    long getMaxBytes() {
+      return maxBytes;
+    }
+
+    /**
+     * Lowers the cap to {@code maxBytes} until {@code endTimeMs}, in {@link
+     * SystemClock#elapsedRealtime()} time.
+     */
+    void applyPressure(long maxBytes, long endTimeMs) {
+      pressureMaxBytes = maxBytes;
+      pressureEndTimeMs = endTimeMs;
+    }
+
+    long getAllocatedBytes() {
+      long total = 0;
+      for (ConfigurableLoadControl loadControl : loadControls) {
+        total += loadControl.allocator.getTotalBytesAllocated();
+      }
+      return total;
+    }
+
+    private boolean isExhausted() {
+      long max = maxBytes;
+      if (SystemClock.elapsedRealtime() < pressureEndTimeMs
+          && (max <= 0 || pressureMaxBytes < max)) {
+        max = pressureMaxBytes;
+      }
+      return max > 0 && getAllocatedBytes() >= max;
+    }
+  }
+
+  private final DefaultAllocator allocator =
+      new DefaultAllocator(/* trimOnReset= */ true, C.DEFAULT_BUFFER_SEGMENT_SIZE);
+  private final Budget budget;
+  private volatile BufferProfile profile = BufferProfile.DEFAULT;
+  private DefaultLoadControl delegate;
+  // Only used on the playback thread.
+  private BufferProfile preparedProfile;
+  private DefaultLoadControl preparedDelegate;
+
+  ConfigurableLoadControl(Budget budget) {
+    this.budget = budget;
+    delegate = profile.buildLoadControl(allocator);
+    preparedProfile = profile;
+    preparedDelegate = delegate;
+    budget.loadControls.add(this);
+  }
+
+  /** Sets the profile the player uses from its next prepare on. */
+  synchronized void setProfile(BufferProfile profile) {
+    if (profile != this.profile) {
+      this.profile = profile;
+      delegate = profile.buildLoadControl(allocator);
+    }
+  }
+
+  long getAllocatedBytes() {
+    return allocator.getTotalBytesAllocated();
+  }
+
+  BufferProfile getProfile() {
+    return profile;
+  }
+
+  @Override
+  public void onPrepared() {
+    synchronized (this) {
+      preparedProfile = profile;
+      preparedDelegate = delegate;
+    }
+    preparedDelegate.onPrepared();
+  }
+
+  @Override
+  public void onTracksSelected(
+      Renderer[] renderers, TrackGroupArray trackGroups, ExoTrackSelection[] trackSelections) {
+    preparedDelegate.onTracksSelected(renderers, trackGroups, trackSelections);
+  }
+
+  @Override
+  public void onStopped() {
+    preparedDelegate.onStopped();
+  }
+
+  @Override
+  public void onReleased() {
+    preparedDelegate.onReleased();
+    budget.loadControls.remove(this);
+  }
+
+  @Override
+  public Allocator getAllocator() {
+    return allocator;
+  }
+
+  @Override
+  public long getBackBufferDurationUs() {
+    return preparedDelegate.getBackBufferDurationUs();
+  }
+
+  @Override
+  public boolean retainBackBufferFromKeyframe() {
+    return preparedDelegate.retainBackBufferFromKeyframe();
+  }
+
+  @Override
+  public boolean shouldContinueLoading(
+      long playbackPositionUs, long bufferedDurationUs, float playbackSpeed) {
+    // Past the minimum buffer, a player only keeps loading while the shared budget has room.
+    if (bufferedDurationUs >= C.msToUs(preparedProfile.minBufferMs) && budget.isExhausted()) {
+      return false;
+    }
+    return preparedDelegate.shouldContinueLoading(
+        playbackPositionUs, bufferedDurationUs, playbackSpeed);
+  }
+
+  @Override
+  public boolean shouldStartPlayback(
+      long bufferedDurationUs, float playbackSpeed, boolean rebuffering, long targetLiveOffsetUs) {
+    return preparedDelegate.shouldStartPlayback(
+        bufferedDurationUs, playbackSpeed, rebuffering, targetLiveOffsetUs);
+  }
+}
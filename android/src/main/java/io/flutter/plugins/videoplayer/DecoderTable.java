@@ -0,0 +1,528 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.SystemClock;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.DefaultRenderersFactory;
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
+import com.google.android.exoplayer2.decoder.DecoderCounters;
+import com.google.android.exoplayer2.decoder.DecoderReuseEvaluation;
+import com.google.android.exoplayer2.ext.ffmpeg.FfmpegLibrary;
+import com.google.android.exoplayer2.mediacodec.MediaCodecDecoderException;
+import com.google.android.exoplayer2.mediacodec.MediaCodecInfo;
+import com.google.android.exoplayer2.mediacodec.MediaCodecRenderer.DecoderInitializationException;
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.mediacodec.MediaCodecUtil;
+import io.flutter.Log;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Chooses between the platform decoders and the FFmpeg extension per codec, learning from how
+ * each decoder behaved.
+ *
+ * <p>Each MIME type has a mode:
+ *
+ * <ul>
+ *   <li>{@link #MODE_PREFER}: FFmpeg decodes the codec whenever it supports it.
+ *   <li>{@link #MODE_FALLBACK}: platform decoders come first, FFmpeg is used when none of them can
+ *       play the format, or once all of them have failed too often.
+ *   <li>{@link #MODE_OFF}: FFmpeg is never preferred for the codec. The extension is only left
+ *       out of new players when every codec is off, so it can still take formats the platform
+ *       doesn't support at all.
+ * </ul>
+ *
+ * <p>Decoder lists are computed once per MIME type and cached until a decoder fails or the modes
+ * change. Decoders that failed {@link #MAX_FAILURES} times move to the end of the list, so players
+ * stop initializing them first. Each session a decoder completes without errors takes back one
+ * failure. Failures are forgotten after {@link #FAILURE_EXPIRY_MS} and after a system update, which
+ * may have fixed the decoder.
+ *
+ * <p>Initializations, failures, frame throughput and dropped frames of each decoder are persisted
+ * across launches. Failures are written at once, since a failing decoder may take the process down
+ * with it, everything else at most every {@link #WRITE_INTERVAL_MS}. A single process-wide instance
+ * is kept.
+ */
+final class DecoderTable implements MediaCodecSelector {
+  static final String MODE_PREFER = "prefer";
+  static final String MODE_FALLBACK = "fallback";
+  static final String MODE_OFF = "off";
+
+  /** Failures after which a platform decoder is tried last. */
+  static final int MAX_FAILURES = 2;
+  /** How long after its last failure a decoder's failures are forgotten. */
+  static final long FAILURE_EXPIRY_MS = 7L * 24 * 60 * 60 * 1000;
+  /** Minimum time between two writes of anything but a failure. */
+  static final long WRITE_INTERVAL_MS = 10000;
+
+  private static final String TAG = "DecoderTable";
+  private static final String PREFERENCES_NAME = "io.flutter.plugins.videoplayer.decoders";
+  private static final String KEY_STATS = "stats";
+  private static final String KEY_FINGERPRINT = "fingerprint";
+
+  private static DecoderTable instance;
+
+  /** What is known about one decoder, by name. */
+  private static final class Stats {
+    long initCount;
+    long initDurationMs;
+    long failureCount;
+    /** Wall clock time of the last failure, in milliseconds. */
+    long lastFailureTimeMs;
+    long frameCount;
+    long playingMs;
+    long droppedFrames;
+
+    JSONObject toJson() throws JSONException {
+      return new JSONObject()
+          .put("initCount", initCount)
+          .put("initDurationMs", initDurationMs)
+          .put("failureCount", failureCount)
+          .put("lastFailureTimeMs", lastFailureTimeMs)
+          .put("frameCount", frameCount)
+          .put("playingMs", playingMs)
+          .put("droppedFrames", droppedFrames);
+    }
+
+    static Stats fromJson(JSONObject json) {
+      Stats stats = new Stats();
+      stats.initCount = json.optLong("initCount");
+      stats.initDurationMs = json.optLong("initDurationMs");
+      stats.failureCount = json.optLong("failureCount");
+      stats.lastFailureTimeMs = json.optLong("lastFailureTimeMs");
+      stats.frameCount = json.optLong("frameCount");
+      stats.playingMs = json.optLong("playingMs");
+      stats.droppedFrames = json.optLong("droppedFrames");
+      return stats;
+    }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> map = new HashMap<>();
+      map.put("initCount", initCount);
+      map.put("averageInitMs", initCount == 0 ? 0 : initDurationMs / initCount);
+      map.put("failureCount", failureCount);
+      map.put("framesPerSecond", playingMs == 0 ? 0.0 : frameCount * 1000.0 / playingMs);
+      map.put("droppedFrames", droppedFrames);
+      return map;
+    }
+  }
+
+  private final SharedPreferences preferences;
+  private final boolean ffmpegAvailable;
+  private final Map<String, Stats> statsByDecoder = new HashMap<>();
+  private final Map<String, List<MediaCodecInfo>> decoderInfosByKey = new HashMap<>();
+  private final Map<String, Boolean> ffmpegSupportByMimeType = new HashMap<>();
+  private String defaultMode = MODE_FALLBACK;
+  private Map<String, String> modesByMimeType = Collections.emptyMap();
+  private long lastWriteTimeMs = C.TIME_UNSET;
+  private boolean hasPendingWrite;
+
+  private DecoderTable(Context context) {
+    preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    ffmpegAvailable = FfmpegLibrary.isAvailable();
+    String json = preferences.getString(KEY_STATS, null);
+    if (json != null) {
+      try {
+        JSONObject decoders = new JSONObject(json);
+        for (Iterator<String> names = decoders.keys(); names.hasNext(); ) {
+          String name = names.next();
+          statsByDecoder.put(name, Stats.fromJson(decoders.getJSONObject(name)));
+        }
+      } catch (JSONException e) {
+        Log.w(TAG, "Dropping unreadable decoder table", e);
+      }
+    }
+    boolean systemUpdated =
+        !Build.FINGERPRINT.equals(preferences.getString(KEY_FINGERPRINT, Build.FINGERPRINT));
+    long nowMs = System.currentTimeMillis();
+    for (Stats stats : statsByDecoder.values()) {
+      if (stats.failureCount > 0
+          && (systemUpdated || nowMs - stats.lastFailureTimeMs >= FAILURE_EXPIRY_MS)) {
+        stats.failureCount = 0;
+        hasPendingWrite = true;
+      }
+    }
+  }
+
+  static synchronized DecoderTable getInstance(Context context) {
+    if (instance == null) {
+      instance = new DecoderTable(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  boolean isFfmpegAvailable() {
+    return ffmpegAvailable;
+  }
+
+  /**
+   * Sets the FFmpeg mode of every codec, with overrides by MIME type. Renderers of pooled players
+   * keep the extension mode they were built with.
+   */
+  synchronized void setModes(String defaultMode, Map<String, String> modesByMimeType) {
+    this.defaultMode = checkMode(defaultMode == null ? MODE_FALLBACK : defaultMode);
+    Map<String, String> modes = new HashMap<>();
+    if (modesByMimeType != null) {
+      for (Map.Entry<String, String> entry : modesByMimeType.entrySet()) {
+        modes.put(entry.getKey(), checkMode(entry.getValue()));
+      }
+    }
+    this.modesByMimeType = modes;
+    decoderInfosByKey.clear();
+  }
+
+  /** Returns the extension renderer mode new players should be built with. */
+  synchronized int getExtensionRendererMode() {
+    if (!ffmpegAvailable) {
+      return DefaultRenderersFactory.EXTENSION_RENDERER_MODE_OFF;
+    }
+    if (!MODE_OFF.equals(defaultMode)) {
+      return DefaultRenderersFactory.EXTENSION_RENDERER_MODE_ON;
+    }
+    for (String mode : modesByMimeType.values()) {
+      if (!MODE_OFF.equals(mode)) {
+        return DefaultRenderersFactory.EXTENSION_RENDERER_MODE_ON;
+      }
+    }
+    return DefaultRenderersFactory.EXTENSION_RENDERER_MODE_OFF;
+  }
+
+  /** Returns the stats of every decoder seen so far, by decoder name. */
+  synchronized Map<String, Object> getStats() {
+    Map<String, Object> result = new HashMap<>();
+    for (Map.Entry<String, Stats> entry : statsByDecoder.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().toMap());
+    }
+    return result;
+  }
+
+  /** Returns a listener recording how the decoders of one player behave. */
+  AnalyticsListener newRecorder() {
+    return new Recorder();
+  }
+
+  @Override
+  public synchronized List<MediaCodecInfo> getDecoderInfos(
+      String mimeType, boolean requiresSecureDecoder, boolean requiresTunnelingDecoder)
+      throws MediaCodecUtil.DecoderQueryException {
+    String key = mimeType + '/' + requiresSecureDecoder + '/' + requiresTunnelingDecoder;
+    List<MediaCodecInfo> decoderInfos = decoderInfosByKey.get(key);
+    if (decoderInfos == null) {
+      decoderInfos =
+          selectDecoderInfos(
+              mimeType,
+              MediaCodecSelector.DEFAULT.getDecoderInfos(
+                  mimeType, requiresSecureDecoder, requiresTunnelingDecoder));
+      decoderInfosByKey.put(key, decoderInfos);
+    }
+    return decoderInfos;
+  }
+
+  private List<MediaCodecInfo> selectDecoderInfos(
+      String mimeType, List<MediaCodecInfo> platformDecoderInfos) {
+    String mode = modesByMimeType.get(mimeType);
+    if (mode == null) {
+      mode = defaultMode;
+    }
+    boolean useFfmpeg = !MODE_OFF.equals(mode) && isSupportedByFfmpeg(mimeType);
+    if (useFfmpeg && MODE_PREFER.equals(mode)) {
+      // Without platform decoders the FFmpeg renderer, which comes next, takes the format.
+      return Collections.emptyList();
+    }
+    List<MediaCodecInfo> working = new ArrayList<>(platformDecoderInfos.size());
+    List<MediaCodecInfo> failing = new ArrayList<>();
+    for (MediaCodecInfo decoderInfo : platformDecoderInfos) {
+      Stats stats = statsByDecoder.get(decoderInfo.name);
+      if (stats != null && stats.failureCount >= MAX_FAILURES) {
+        failing.add(decoderInfo);
+      } else {
+        working.add(decoderInfo);
+      }
+    }
+    if (working.isEmpty() && useFfmpeg) {
+      return Collections.emptyList();
+    }
+    working.addAll(failing);
+    return Collections.unmodifiableList(working);
+  }
+
+  private boolean isSupportedByFfmpeg(String mimeType) {
+    if (!ffmpegAvailable) {
+      return false;
+    }
+    Boolean supported = ffmpegSupportByMimeType.get(mimeType);
+    if (supported == null) {
+      supported = FfmpegLibrary.supportsFormat(mimeType);
+      ffmpegSupportByMimeType.put(mimeType, supported);
+    }
+    return supported;
+  }
+
+  private synchronized Stats statsFor(String decoderName) {
+    Stats stats = statsByDecoder.get(decoderName);
+    if (stats == null) {
+      stats = new Stats();
+      statsByDecoder.put(decoderName, stats);
+    }
+    return stats;
+  }
+
+  /** Writes the stats if they changed since the last write. */
+  synchronized void flush() {
+    if (!hasPendingWrite) {
+      return;
+    }
+    JSONObject decoders = new JSONObject();
+    try {
+      for (Map.Entry<String, Stats> entry : statsByDecoder.entrySet()) {
+        decoders.put(entry.getKey(), entry.getValue().toJson());
+      }
+    } catch (JSONException e) {
+      Log.w(TAG, "Failed to save decoder table", e);
+      return;
+    }
+    preferences
+        .edit()
+        .putString(KEY_STATS, decoders.toString())
+        .putString(KEY_FINGERPRINT, Build.FINGERPRINT)
+        .apply();
+    hasPendingWrite = false;
+    lastWriteTimeMs = SystemClock.elapsedRealtime();
+  }
+
+  private synchronized void recordInit(String decoderName, long durationMs) {
+    Stats stats = statsFor(decoderName);
+    stats.initCount++;
+    stats.initDurationMs += durationMs;
+    save();
+  }
+
+  private synchronized void recordFailure(String decoderName) {
+    Stats stats = statsFor(decoderName);
+    stats.failureCount++;
+    stats.lastFailureTimeMs = System.currentTimeMillis();
+    decoderInfosByKey.clear();
+    hasPendingWrite = true;
+    flush();
+  }
+
+  /** Takes back one failure of a decoder that ran a whole session without errors. */
+  private synchronized void recordSuccess(String decoderName) {
+    Stats stats = statsFor(decoderName);
+    if (stats.failureCount == 0) {
+      return;
+    }
+    stats.failureCount--;
+    if (stats.failureCount == MAX_FAILURES - 1) {
+      decoderInfosByKey.clear();
+    }
+    save();
+  }
+
+  private synchronized void recordFrames(
+      String decoderName, long frameCount, long playingMs, long droppedFrames) {
+    Stats stats = statsFor(decoderName);
+    stats.frameCount += frameCount;
+    stats.playingMs += playingMs;
+    stats.droppedFrames += droppedFrames;
+    save();
+  }
+
+  /**
+   * Records as failed the decoders listed before {@code decoderName} that support {@code format},
+   * which the renderer tried and fell back from.
+   */
+  private synchronized void recordFallback(Format format, String decoderName) {
+    if (format == null || format.sampleMimeType == null) {
+      return;
+    }
+    String prefix = format.sampleMimeType + '/';
+    List<String> skipped = new ArrayList<>();
+    search:
+    for (Map.Entry<String, List<MediaCodecInfo>> entry : decoderInfosByKey.entrySet()) {
+      if (!entry.getKey().startsWith(prefix)) {
+        continue;
+      }
+      skipped.clear();
+      for (MediaCodecInfo decoderInfo : entry.getValue()) {
+        if (decoderInfo.name.equals(decoderName)) {
+          break search;
+        }
+        try {
+          if (decoderInfo.isFormatSupported(format)) {
+            skipped.add(decoderInfo.name);
+          }
+        } catch (MediaCodecUtil.DecoderQueryException e) {
+          // Not a candidate the renderer would have tried.
+        }
+      }
+      skipped.clear();
+    }
+    for (String failed : skipped) {
+      recordFailure(failed);
+    }
+  }
+
+  /** Writes the stats unless they were written less than {@link #WRITE_INTERVAL_MS} ago. */
+  private void save() {
+    hasPendingWrite = true;
+    if (lastWriteTimeMs == C.TIME_UNSET
+        || SystemClock.elapsedRealtime() - lastWriteTimeMs >= WRITE_INTERVAL_MS) {
+      flush();
+    }
+  }
+
+  private static String checkMode(String mode) {
+    if (!MODE_PREFER.equals(mode) && !MODE_FALLBACK.equals(mode) && !MODE_OFF.equals(mode)) {
+      throw new IllegalArgumentException("Unknown decoder mode: " + mode);
+    }
+    return mode;
+  }
+
+  /** Records the decoders of one player. Called on the player's thread. */
+  private final class Recorder implements AnalyticsListener {
+    private Format videoFormat;
+    private Format audioFormat;
+    private String videoDecoderName;
+    private String audioDecoderName;
+    /** Whether the current decoder of each type reported an error. */
+    private boolean videoDecoderFailed;
+    private boolean audioDecoderFailed;
+    private long playingSinceMs = C.TIME_UNSET;
+    private long playingMs;
+
+    @Override
+    public void onVideoInputFormatChanged(
+        EventTime eventTime, Format format, DecoderReuseEvaluation decoderReuseEvaluation) {
+      videoFormat = format;
+    }
+
+    @Override
+    public void onAudioInputFormatChanged(
+        EventTime eventTime, Format format, DecoderReuseEvaluation decoderReuseEvaluation) {
+      audioFormat = format;
+    }
+
+    @Override
+    public void onVideoDecoderInitialized(
+        EventTime eventTime,
+        String decoderName,
+        long initializedTimestampMs,
+        long initializationDurationMs) {
+      videoDecoderName = decoderName;
+      videoDecoderFailed = false;
+      playingMs = 0;
+      if (playingSinceMs != C.TIME_UNSET) {
+        playingSinceMs = SystemClock.elapsedRealtime();
+      }
+      recordInit(decoderName, initializationDurationMs);
+      recordFallback(videoFormat, decoderName);
+    }
+
+    @Override
+    public void onAudioDecoderInitialized(
+        EventTime eventTime,
+        String decoderName,
+        long initializedTimestampMs,
+        long initializationDurationMs) {
+      audioDecoderName = decoderName;
+      audioDecoderFailed = false;
+      recordInit(decoderName, initializationDurationMs);
+      recordFallback(audioFormat, decoderName);
+    }
+
+    @Override
+    public void onIsPlayingChanged(EventTime eventTime, boolean isPlaying) {
+      if (isPlaying) {
+        playingSinceMs = SystemClock.elapsedRealtime();
+      } else if (playingSinceMs != C.TIME_UNSET) {
+        playingMs += SystemClock.elapsedRealtime() - playingSinceMs;
+        playingSinceMs = C.TIME_UNSET;
+      }
+    }
+
+    @Override
+    public void onVideoDisabled(EventTime eventTime, DecoderCounters counters) {
+      if (videoDecoderName == null) {
+        return;
+      }
+      long totalPlayingMs = playingMs;
+      if (playingSinceMs != C.TIME_UNSET) {
+        totalPlayingMs += SystemClock.elapsedRealtime() - playingSinceMs;
+      }
+      recordFrames(
+          videoDecoderName,
+          counters.renderedOutputBufferCount
+              + counters.skippedOutputBufferCount
+              + counters.droppedBufferCount,
+          totalPlayingMs,
+          counters.droppedBufferCount);
+      if (!videoDecoderFailed && counters.renderedOutputBufferCount > 0) {
+        recordSuccess(videoDecoderName);
+      }
+      videoDecoderName = null;
+    }
+
+    @Override
+    public void onAudioDisabled(EventTime eventTime, DecoderCounters counters) {
+      if (audioDecoderName == null) {
+        return;
+      }
+      if (!audioDecoderFailed && counters.renderedOutputBufferCount > 0) {
+        recordSuccess(audioDecoderName);
+      }
+      audioDecoderName = null;
+    }
+
+    @Override
+    public void onVideoCodecError(EventTime eventTime, Exception videoCodecError) {
+      recordCodecError(videoCodecError);
+    }
+
+    @Override
+    public void onAudioCodecError(EventTime eventTime, Exception audioCodecError) {
+      recordCodecError(audioCodecError);
+    }
+
+    @Override
+    public void onPlayerError(EventTime eventTime, ExoPlaybackException error) {
+      if (error.type != ExoPlaybackException.TYPE_RENDERER
+          || !(error.getRendererException() instanceof DecoderInitializationException)) {
+        return;
+      }
+      DecoderInitializationException initializationException =
+          (DecoderInitializationException) error.getRendererException();
+      while (initializationException != null) {
+        if (initializationException.codecInfo != null) {
+          recordFailure(initializationException.codecInfo.name);
+        }
+        initializationException = initializationException.fallbackDecoderInitializationException;
+      }
+    }
+
+    private void recordCodecError(Exception codecError) {
+      if (codecError instanceof MediaCodecDecoderException) {
+        MediaCodecInfo codecInfo = ((MediaCodecDecoderException) codecError).codecInfo;
+        if (codecInfo != null) {
+          recordFailure(codecInfo.name);
+          videoDecoderFailed |= codecInfo.name.equals(videoDecoderName);
+          audioDecoderFailed |= codecInfo.name.equals(audioDecoderName);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,300 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static com.google.android.exoplayer2.Player.REPEAT_MODE_OFF;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import com.google.android.exoplayer2.DefaultRenderersFactory;
+import com.google.android.exoplayer2.PlaybackParameters;
+import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import io.flutter.Log;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Keeps stopped {@link SimpleExoPlayer}s around so that new views can reuse them instead of paying
+ * for a fresh player, track selector and renderers each time.
+ *
+ * <p>A pooled player keeps its playback thread, renderers, track selector and load control.
+ * Decoders are still released when the player is stopped.
+ *
+ * <p>Players are bound to the looper they were built with, see {@link #THREAD_MAIN}, {@link
+ * #THREAD_SHARED} and {@link #THREAD_PER_PLAYER}. Only players of the requested kind are reused.
+ * Releasing a player blocks its thread, so {@link #resolveThreadMode} moves players off the
+ * platform thread while the pool is disabled and every player is released on dispose.
+ *
+ * <p>All methods must be called on the platform thread.
+ */
+final class ExoPlayerPool {
+  /** Players run on the platform thread. */
+  static final int THREAD_MAIN = 0;
+  /** Players run on a single background thread shared by every player of this kind. */
+  static final int THREAD_SHARED = 1;
+  /** Each player runs on its own background thread. */
+  static final int THREAD_PER_PLAYER = 2;
+
+  /** How long a player may take to release before it is reported as stuck. */
+  static final long RELEASE_WATCHDOG_MS = 2000;
+
+  private static final String TAG = "ExoPlayerPool";
+  private static final String THREAD_NAME = "VideoPlayerPlayback";
+  /**
+   * Delay between stopping a player that runs on the platform thread and releasing it. Stopping
+   * frees the decoders on the playback thread, so the blocking release that follows is short.
+   */
+  private static final long MAIN_THREAD_RELEASE_DELAY_MS = 100;
+
+  /** A player together with the track selector, load control and thread it was built with. */
+  static final class Entry {
+    final SimpleExoPlayer exoPlayer;
+    final DefaultTrackSelector trackSelector;
+    final ConfigurableLoadControl loadControl;
+    /** Handler of the player's application thread, every player call must go through it. */
+    final Handler handler;
+
+    private final int threadMode;
+    private final HandlerThread ownThread;
+    private final DefaultTrackSelector.Parameters defaultParameters;
+
+    private Entry(
+        SimpleExoPlayer exoPlayer,
+        DefaultTrackSelector trackSelector,
+        ConfigurableLoadControl loadControl,
+        Handler handler,
+        int threadMode,
+        HandlerThread ownThread) {
+      this.exoPlayer = exoPlayer;
+      this.trackSelector = trackSelector;
+      this.loadControl = loadControl;
+      this.handler = handler;
+      this.threadMode = threadMode;
+      this.ownThread = ownThread;
+      this.defaultParameters = trackSelector.getParameters();
+    }
+
+    /** Runs {@code runnable} on the player's thread, inline if already on it. */
+    void run(Runnable runnable) {
+      if (Looper.myLooper() == handler.getLooper()) {
+        runnable.run();
+      } else {
+        handler.post(runnable);
+      }
+    }
+  }
+
+  private final Context context;
+  private final ConfigurableLoadControl.Budget bufferBudget;
+  private final BandwidthMeter bandwidthMeter;
+  private final ArrayDeque<Entry> idle = new ArrayDeque<>();
+  private final Handler platformHandler = new Handler(Looper.getMainLooper());
+  private HandlerThread sharedThread;
+  private int maxSize;
+  private long hitCount;
+  private long missCount;
+  private long totalConstructionTimeUs;
+  private int pendingReleaseCount;
+  private long releaseTimeoutCount;
+
+  ExoPlayerPool(
+      Context context, ConfigurableLoadControl.Budget bufferBudget, BandwidthMeter bandwidthMeter) {
+    this.context = context.getApplicationContext();
+    this.bufferBudget = bufferBudget;
+    this.bandwidthMeter = bandwidthMeter;
+  }
+
+  Entry acquire(int threadMode) {
+    for (Iterator<Entry> iterator = idle.iterator(); iterator.hasNext(); ) {
+      Entry entry = iterator.next();
+      if (entry.threadMode == threadMode) {
+        iterator.remove();
+        hitCount++;
+        return entry;
+      }
+    }
+    missCount++;
+    long startUs = System.nanoTime() / 1000;
+    HandlerThread ownThread = null;
+    Looper looper;
+    switch (threadMode) {
+      case THREAD_SHARED:
+        if (sharedThread == null) {
+          sharedThread = startThread();
+        }
+        looper = sharedThread.getLooper();
+        break;
+      case THREAD_PER_PLAYER:
+        ownThread = startThread();
+        looper = ownThread.getLooper();
+        break;
+      default:
+        looper = Looper.getMainLooper();
+        break;
+    }
+    DefaultTrackSelector trackSelector = new DefaultTrackSelector(context);
+    ConfigurableLoadControl loadControl = new ConfigurableLoadControl(bufferBudget);
+    DecoderTable decoderTable = DecoderTable.getInstance(context);
+    DefaultRenderersFactory defaultRenderersFactory = new DefaultRenderersFactory(context);
+    defaultRenderersFactory
+        .setExtensionRendererMode(decoderTable.getExtensionRendererMode())
+        .setMediaCodecSelector(decoderTable)
+        .setEnableDecoderFallback(true);
+    SimpleExoPlayer exoPlayer =
+        new SimpleExoPlayer.Builder(context, defaultRenderersFactory)
+            .setTrackSelector(trackSelector)
+            .setLoadControl(loadControl)
+            .setBandwidthMeter(bandwidthMeter)
+            .setLooper(looper)
+            .build();
+    totalConstructionTimeUs += System.nanoTime() / 1000 - startUs;
+    return new Entry(
+        exoPlayer, trackSelector, loadControl, new Handler(looper), threadMode, ownThread);
+  }
+
+  /**
+   * Returns the thread mode to build players requested with {@code threadMode} in. Players the
+   * pool won't keep are released on dispose, which would block the platform thread for players
+   * running on it, so those run on the shared thread instead.
+   */
+  int resolveThreadMode(int threadMode) {
+    return threadMode == THREAD_MAIN && maxSize == 0 ? THREAD_SHARED : threadMode;
+  }
+
+  /**
+   * Returns {@code entry} to the pool, resetting it to its freshly built state. The player is
+   * released instead if the pool is full. {@code onReleased} runs on the platform thread once the
+   * player was reset or released, and no longer renders into its surface.
+   *
+   * <p>The reset runs on the player's thread. It is queued ahead of anything a later owner posts
+   * there, so the entry can be handed out again right away. A release never blocks the caller, see
+   * {@link #getPendingReleaseCount()}.
+   */
+  void release(Entry entry, Runnable onReleased) {
+    if (idle.size() >= maxSize) {
+      releaseEntry(entry, onReleased);
+      return;
+    }
+    entry.run(
+        () -> {
+          SimpleExoPlayer exoPlayer = entry.exoPlayer;
+          exoPlayer.stop();
+          exoPlayer.clearMediaItems();
+          exoPlayer.clearVideoSurface();
+          exoPlayer.setPlayWhenReady(false);
+          exoPlayer.setRepeatMode(REPEAT_MODE_OFF);
+          exoPlayer.setVolume(1f);
+          exoPlayer.setPlaybackParameters(PlaybackParameters.DEFAULT);
+          entry.trackSelector.setParameters(entry.defaultParameters);
+          entry.loadControl.setProfile(BufferProfile.DEFAULT);
+          platformHandler.post(onReleased);
+        });
+    idle.addLast(entry);
+  }
+
+  void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+    trimTo(maxSize);
+  }
+
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  int getIdleCount() {
+    return idle.size();
+  }
+
+  long getHitCount() {
+    return hitCount;
+  }
+
+  long getMissCount() {
+    return missCount;
+  }
+
+  long getTotalConstructionTimeUs() {
+    return totalConstructionTimeUs;
+  }
+
+  /** Returns the number of players whose release was started but hasn't completed yet. */
+  int getPendingReleaseCount() {
+    return pendingReleaseCount;
+  }
+
+  /** Returns how many releases took longer than {@link #RELEASE_WATCHDOG_MS}. */
+  long getReleaseTimeoutCount() {
+    return releaseTimeoutCount;
+  }
+
+  /** Releases every idle player, keeping the pool's size for later releases. */
+  void releaseIdle() {
+    trimTo(0);
+  }
+
+  /** Releases every idle player and stops the shared playback thread once they are released. */
+  void clear() {
+    trimTo(0);
+    if (sharedThread != null) {
+      HandlerThread thread = sharedThread;
+      // Posted behind the pending releases so that they still run.
+      new Handler(thread.getLooper()).post(thread::quit);
+      sharedThread = null;
+    }
+  }
+
+  private void trimTo(int size) {
+    while (idle.size() > size) {
+      releaseEntry(idle.pollLast(), null);
+    }
+  }
+
+  /**
+   * Stops and releases {@code entry} on its own thread, then runs {@code onReleased}, if any, on
+   * the platform thread. Players on the platform thread, which only get here when evicted from an
+   * enabled pool, are released on a later message, after their stop has freed the decoders.
+   */
+  private void releaseEntry(Entry entry, Runnable onReleased) {
+    pendingReleaseCount++;
+    Runnable watchdog =
+        () -> {
+          releaseTimeoutCount++;
+          Log.w(TAG, "Player release is taking longer than " + RELEASE_WATCHDOG_MS + " ms");
+        };
+    platformHandler.postDelayed(watchdog, RELEASE_WATCHDOG_MS);
+    Runnable release =
+        () -> {
+          entry.exoPlayer.release();
+          if (entry.ownThread != null) {
+            entry.ownThread.quit();
+          }
+          platformHandler.post(
+              () -> {
+                platformHandler.removeCallbacks(watchdog);
+                pendingReleaseCount--;
+                if (onReleased != null) {
+                  onReleased.run();
+                }
+              });
+        };
+    // Stopping only sends a message to the playback thread, it doesn't wait for it.
+    entry.handler.post(entry.exoPlayer::stop);
+    if (entry.handler.getLooper() == Looper.getMainLooper()) {
+      entry.handler.postDelayed(release, MAIN_THREAD_RELEASE_DELAY_MS);
+    } else {
+      entry.handler.post(release);
+    }
+  }
+
+  private static HandlerThread startThread() {
+    HandlerThread thread = new HandlerThread(THREAD_NAME);
+    thread.start();
+    return thread;
+  }
+}
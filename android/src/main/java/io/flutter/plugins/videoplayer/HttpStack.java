@@ -0,0 +1,252 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Build;
+import android.os.SystemClock;
+import com.google.android.exoplayer2.ext.okhttp.OkHttpDataSource;
+import com.google.android.exoplayer2.upstream.DefaultHttpDataSource;
+import com.google.android.exoplayer2.upstream.HttpDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import io.flutter.Log;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * The HTTP client behind the data sources of every player and prefetch.
+ *
+ * <p>With {@link #STACK_OKHTTP}, all requests go through one {@link OkHttpClient}. Its connection
+ * pool keeps connections alive across players and segments, and it multiplexes requests to the
+ * same host over HTTP/2 where the server supports it. Host lookups are cached for {@link
+ * #setDnsCacheTtlMs(long)}. {@link #STACK_DEFAULT} uses {@link DefaultHttpDataSource}, which is
+ * built on {@code HttpURLConnection}. A single process-wide instance is kept.
+ *
+ * <p>Below API 21 the client uses {@link CustomSSLSocketFactory} to enable TLS 1.1 and 1.2, as
+ * {@code HttpURLConnection} does after the plugin attaches.
+ */
+final class HttpStack {
+  static final String STACK_OKHTTP = "okhttp";
+  static final String STACK_DEFAULT = "default";
+
+  /** How long an idle connection stays in the pool. */
+  static final long KEEP_ALIVE_MS = 5 * 60 * 1000;
+
+  private static final String TAG = "HttpStack";
+  private static final String USER_AGENT = "ExoPlayer";
+  private static final int MAX_IDLE_CONNECTIONS = 8;
+  private static final long DEFAULT_DNS_CACHE_TTL_MS = 60 * 1000;
+
+  private static HttpStack instance;
+
+  private final CachingDns dns = new CachingDns();
+  private final ConnectionPool connectionPool =
+      new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MS, TimeUnit.MILLISECONDS);
+  private final OkHttpClient client;
+  private final AtomicLong connectionsOpened = new AtomicLong();
+  private final AtomicLong connectionsReused = new AtomicLong();
+  private final AtomicLong http2Requests = new AtomicLong();
+  private volatile String stack = STACK_OKHTTP;
+
+  private HttpStack() {
+    OkHttpClient.Builder builder =
+        new OkHttpClient.Builder()
+            .connectionPool(connectionPool)
+            .dns(dns)
+            .followSslRedirects(true)
+            .eventListenerFactory(call -> new ConnectionListener());
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+      try {
+        builder.sslSocketFactory(new CustomSSLSocketFactory(), systemTrustManager());
+      } catch (GeneralSecurityException e) {
+        Log.w(TAG, "Failed to enable TLSv1.1 and TLSv1.2 for the shared HTTP client", e);
+      }
+    }
+    client = builder.build();
+  }
+
+  static synchronized HttpStack getInstance() {
+    if (instance == null) {
+      instance = new HttpStack();
+    }
+    return instance;
+  }
+
+  /** Selects the stack of data sources created from now on. */
+  void setStack(String stack) {
+    if (!STACK_OKHTTP.equals(stack) && !STACK_DEFAULT.equals(stack)) {
+      throw new IllegalArgumentException("Unknown HTTP stack: " + stack);
+    }
+    this.stack = stack;
+  }
+
+  String getStack() {
+    return stack;
+  }
+
+  /** Sets how long host lookups are cached, 0 to resolve every connection. */
+  void setDnsCacheTtlMs(long ttlMs) {
+    dns.ttlMs = ttlMs;
+    dns.clear();
+  }
+
+  /** Returns a data source factory sending {@code httpHeaders} with every request. */
+  HttpDataSource.Factory createFactory(
+      Map<String, String> httpHeaders, TransferListener transferListener) {
+    HttpDataSource.Factory factory;
+    if (STACK_OKHTTP.equals(stack)) {
+      factory =
+          new OkHttpDataSource.Factory(client)
+              .setUserAgent(USER_AGENT)
+              .setTransferListener(transferListener);
+    } else {
+      factory =
+          new DefaultHttpDataSource.Factory()
+              .setUserAgent(USER_AGENT)
+              .setAllowCrossProtocolRedirects(true)
+              .setTransferListener(transferListener);
+    }
+    if (httpHeaders != null && !httpHeaders.isEmpty()) {
+      factory.setDefaultRequestProperties(httpHeaders);
+    }
+    return factory;
+  }
+
+  /**
+   * Connects to {@code origin}, resolving its host and completing the TLS handshake, and leaves
+   * the connection in the pool of the current stack. Blocks until the server answered.
+   */
+  void warm(String origin) throws IOException {
+    if (STACK_OKHTTP.equals(stack)) {
+      Request request =
+          new Request.Builder().url(origin).head().header("User-Agent", USER_AGENT).build();
+      Response response = client.newCall(request).execute();
+      // Any answer means the connection is up. Closing returns it to the pool.
+      response.close();
+      return;
+    }
+    HttpURLConnection connection = (HttpURLConnection) new URL(origin).openConnection();
+    connection.setRequestMethod("HEAD");
+    connection.setRequestProperty("User-Agent", USER_AGENT);
+    int responseCode = connection.getResponseCode();
+    // Closing the stream instead of disconnecting keeps the connection alive for reuse.
+    InputStream stream =
+        responseCode >= 400 ? connection.getErrorStream() : connection.getInputStream();
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  /** Returns connection reuse and DNS cache counters of the shared client. */
+  Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("connectionsOpened", connectionsOpened.get());
+    stats.put("connectionsReused", connectionsReused.get());
+    stats.put("http2Requests", http2Requests.get());
+    stats.put("openConnections", (long) connectionPool.connectionCount());
+    stats.put("idleConnections", (long) connectionPool.idleConnectionCount());
+    stats.put("dnsCacheHits", dns.hits.get());
+    stats.put("dnsCacheMisses", dns.misses.get());
+    return stats;
+  }
+
+  private static X509TrustManager systemTrustManager() throws GeneralSecurityException {
+    TrustManagerFactory factory =
+        TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+    factory.init((KeyStore) null);
+    for (TrustManager trustManager : factory.getTrustManagers()) {
+      if (trustManager instanceof X509TrustManager) {
+        return (X509TrustManager) trustManager;
+      }
+    }
+    throw new GeneralSecurityException("No X509TrustManager among the system trust managers");
+  }
+
+  /** Counts, for each call, whether it opened a connection or reused a pooled one. */
+  private final class ConnectionListener extends EventListener {
+    private boolean connecting;
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+      connecting = true;
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+      if (connecting) {
+        connectionsOpened.incrementAndGet();
+      } else {
+        connectionsReused.incrementAndGet();
+      }
+      connecting = false;
+      if (connection.protocol() == Protocol.HTTP_2) {
+        http2Requests.incrementAndGet();
+      }
+    }
+  }
+
+  /** Caches successful lookups of {@link Dns#SYSTEM}. */
+  private static final class CachingDns implements Dns {
+    private static final class Entry {
+      final List<InetAddress> addresses;
+      final long expiryTimeMs;
+
+      Entry(List<InetAddress> addresses, long expiryTimeMs) {
+        this.addresses = addresses;
+        this.expiryTimeMs = expiryTimeMs;
+      }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    final AtomicLong hits = new AtomicLong();
+    final AtomicLong misses = new AtomicLong();
+    volatile long ttlMs = DEFAULT_DNS_CACHE_TTL_MS;
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+      long nowMs = SystemClock.elapsedRealtime();
+      Entry entry = entries.get(hostname);
+      if (entry != null && nowMs < entry.expiryTimeMs) {
+        hits.incrementAndGet();
+        return entry.addresses;
+      }
+      misses.incrementAndGet();
+      List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname);
+      if (ttlMs > 0) {
+        entries.put(hostname, new Entry(addresses, nowMs + ttlMs));
+      }
+      return addresses;
+    }
+
+    void clear() {
+      entries.clear();
+    }
+  }
+}
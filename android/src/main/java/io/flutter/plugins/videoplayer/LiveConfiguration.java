@@ -0,0 +1,81 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.MediaItem;
+import java.util.Map;
+
+/**
+ * How closely a player follows the live edge of a live stream, see {@link
+ * MediaItem.LiveConfiguration} for the meaning of the offsets and speeds.
+ *
+ * <p>A configuration is sent from Dart as a map with any of the fields below. Unset values keep
+ * those of the stream's manifest, or ExoPlayer's defaults. Playing further than {@link
+ * #hardSeekOffsetMs} behind the live edge seeks back to the target offset instead of catching up
+ * by speeding up.
+ */
+final class LiveConfiguration {
+  final long targetOffsetMs;
+  final long minOffsetMs;
+  final long maxOffsetMs;
+  final float minPlaybackSpeed;
+  final float maxPlaybackSpeed;
+  /** Live offset beyond which the player seeks to the target offset, 0 to never seek. */
+  final long hardSeekOffsetMs;
+
+  LiveConfiguration(
+      long targetOffsetMs,
+      long minOffsetMs,
+      long maxOffsetMs,
+      float minPlaybackSpeed,
+      float maxPlaybackSpeed,
+      long hardSeekOffsetMs) {
+    if (hardSeekOffsetMs < 0
+        || (targetOffsetMs != C.TIME_UNSET
+            && hardSeekOffsetMs > 0
+            && hardSeekOffsetMs <= targetOffsetMs)) {
+      throw new IllegalArgumentException(
+          "The hard seek offset must be 0 or greater than the target offset");
+    }
+    this.targetOffsetMs = targetOffsetMs;
+    this.minOffsetMs = minOffsetMs;
+    this.maxOffsetMs = maxOffsetMs;
+    this.minPlaybackSpeed = minPlaybackSpeed;
+    this.maxPlaybackSpeed = maxPlaybackSpeed;
+    this.hardSeekOffsetMs = hardSeekOffsetMs;
+  }
+
+  /** Returns the configuration described by {@code map}, or null if the map is null. */
+  static LiveConfiguration fromMap(Map<Object, Object> map) {
+    if (map == null) {
+      return null;
+    }
+    return new LiveConfiguration(
+        longValue(map.get("targetOffsetMs"), C.TIME_UNSET),
+        longValue(map.get("minOffsetMs"), C.TIME_UNSET),
+        longValue(map.get("maxOffsetMs"), C.TIME_UNSET),
+        floatValue(map.get("minPlaybackSpeed")),
+        floatValue(map.get("maxPlaybackSpeed")),
+        longValue(map.get("hardSeekOffsetMs"), 0));
+  }
+
+  void applyTo(MediaItem.Builder builder) {
+    builder
+        .setLiveTargetOffsetMs(targetOffsetMs)
+        .setLiveMinOffsetMs(minOffsetMs)
+        .setLiveMaxOffsetMs(maxOffsetMs)
+        .setLiveMinPlaybackSpeed(minPlaybackSpeed)
+        .setLiveMaxPlaybackSpeed(maxPlaybackSpeed);
+  }
+
+  private static long longValue(Object value, long fallback) {
+    return value == null ? fallback : ((Number) value).longValue();
+  }
+
+  private static float floatValue(Object value) {
+    return value == null ? C.RATE_UNSET : ((Number) value).floatValue();
+  }
+}
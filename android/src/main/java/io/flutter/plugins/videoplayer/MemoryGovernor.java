@@ -0,0 +1,146 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.SystemClock;
+import android.util.LongSparseArray;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Frees player memory when the system asks the app to trim, escalating with the trim level.
+ *
+ * <p>The levels reported while the app is in the foreground and those reported once it is in the
+ * background are handled as separate ranges:
+ *
+ * <ul>
+ *   <li>While running low on memory, buffers are capped at half of what the players hold, so they
+ *       drain as playback continues. At {@link #TRIM_MEMORY_RUNNING_CRITICAL}, paused and
+ *       offscreen players also release their decoders. They prepare again on their next play.
+ *   <li>{@link #TRIM_MEMORY_UI_HIDDEN} only caps buffers, since hiding the UI is no sign of low
+ *       memory.
+ *   <li>In the background, buffers are capped and idle pooled players released. From {@link
+ *       #TRIM_MEMORY_MODERATE}, paused and offscreen players release their decoders. Only at {@link
+ *       #TRIM_MEMORY_COMPLETE}, right before the process is killed, is every player but the most
+ *       recently used one evicted. An evicted player needs a new create call.
+ * </ul>
+ *
+ * <p>Each affected player gets a {@code memoryTrim} event naming the action, so the app can
+ * restore it later. Must be registered and called on the platform thread.
+ */
+final class MemoryGovernor implements ComponentCallbacks2 {
+  /** How long a buffer cap set under memory pressure lasts. */
+  static final long PRESSURE_DURATION_MS = 60000;
+
+  private final LongSparseArray<VideoPlayer> videoPlayers;
+  private final ConfigurableLoadControl.Budget bufferBudget;
+  private final Runnable releaseIdlePlayers;
+
+  MemoryGovernor(
+      LongSparseArray<VideoPlayer> videoPlayers,
+      ConfigurableLoadControl.Budget bufferBudget,
+      Runnable releaseIdlePlayers) {
+    this.videoPlayers = videoPlayers;
+    this.bufferBudget = bufferBudget;
+    this.releaseIdlePlayers = releaseIdlePlayers;
+  }
+
+  /** Returns the approximate memory held by all players, buffers and decoders. */
+  long getFootprintBytes() {
+    long total = 0;
+    for (int i = 0; i < videoPlayers.size(); i++) {
+      VideoPlayer player = videoPlayers.valueAt(i);
+      total += player.getBufferBytes() + player.getDecoderBytes();
+    }
+    return total;
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (videoPlayers.size() == 0) {
+      return;
+    }
+    if (level >= TRIM_MEMORY_BACKGROUND) {
+      trimInBackground(level);
+    } else if (level >= TRIM_MEMORY_UI_HIDDEN) {
+      // The UI went away, which says nothing about how much memory is left.
+      shrinkBuffers(level);
+    } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+      trimWhileRunning(level);
+    }
+  }
+
+  /** The app is in the foreground while the system runs low on memory. */
+  private void trimWhileRunning(int level) {
+    shrinkBuffers(level);
+    if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+      releaseDecoders(getPlayersByLastUse(), level);
+    }
+  }
+
+  /** The app is in the background, the higher the level the sooner it is killed. */
+  private void trimInBackground(int level) {
+    shrinkBuffers(level);
+    releaseIdlePlayers.run();
+    if (level < TRIM_MEMORY_MODERATE) {
+      return;
+    }
+    List<VideoPlayer> players = getPlayersByLastUse();
+    if (level >= TRIM_MEMORY_COMPLETE) {
+      int mostRecentlyUsed = players.size() - 1;
+      for (int i = 0; i < mostRecentlyUsed; i++) {
+        players.get(i).evict(level);
+      }
+      players = players.subList(mostRecentlyUsed, mostRecentlyUsed + 1);
+    }
+    releaseDecoders(players, level);
+  }
+
+  private void shrinkBuffers(int level) {
+    long bufferBytes = 0;
+    for (int i = 0; i < videoPlayers.size(); i++) {
+      bufferBytes += videoPlayers.valueAt(i).getBufferBytes();
+    }
+    bufferBudget.applyPressure(
+        bufferBytes / 2, SystemClock.elapsedRealtime() + PRESSURE_DURATION_MS);
+    for (int i = 0; i < videoPlayers.size(); i++) {
+      videoPlayers.valueAt(i).sendMemoryTrim("shrinkBuffers", level);
+    }
+  }
+
+  /** Releases the decoders of those of {@code players} that are paused or offscreen. */
+  private static void releaseDecoders(List<VideoPlayer> players, int level) {
+    for (VideoPlayer player : players) {
+      if (!player.isPlaying() || !player.isOnScreen()) {
+        player.releaseDecoders(level);
+      }
+    }
+  }
+
+  private List<VideoPlayer> getPlayersByLastUse() {
+    List<VideoPlayer> players = new ArrayList<>(videoPlayers.size());
+    for (int i = 0; i < videoPlayers.size(); i++) {
+      players.add(videoPlayers.valueAt(i));
+    }
+    Collections.sort(
+        players,
+        (a, b) -> {
+          long difference = a.getLastUsedTimeMs() - b.getLastUsedTimeMs();
+          return difference < 0 ? -1 : (difference == 0 ? 0 : 1);
+        });
+    return players;
+  }
+
+  @Override
+  public void onLowMemory() {
+    onTrimMemory(TRIM_MEMORY_COMPLETE);
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {}
+}
@@ -40,6 +40,14 @@ public class Messages {
     public Map<Object, Object> getHttpHeaders() { return httpHeaders; }
     public void setHttpHeaders(Map<Object, Object> setterArg) { this.httpHeaders = setterArg; }
 
+    private Map<Object, Object> bufferProfile;
+    public Map<Object, Object> getBufferProfile() { return bufferProfile; }
+    public void setBufferProfile(Map<Object, Object> setterArg) { this.bufferProfile = setterArg; }
+
+    private Map<Object, Object> liveConfiguration;
+    public Map<Object, Object> getLiveConfiguration() { return liveConfiguration; }
+    public void setLiveConfiguration(Map<Object, Object> setterArg) { this.liveConfiguration = setterArg; }
+
     Map<String, Object> toMap() {
       Map<String, Object> toMapResult = new HashMap<>();
       toMapResult.put("asset", asset);
@@ -48,6 +56,8 @@ public class Messages {
       toMapResult.put("formatHint", formatHint);
       toMapResult.put("textureId", textureId);
       toMapResult.put("httpHeaders", httpHeaders);
+      toMapResult.put("bufferProfile", bufferProfile);
+      toMapResult.put("liveConfiguration", liveConfiguration);
       return toMapResult;
     }
     static CreateMessage fromMap(Map<String, Object> map) {
@@ -64,6 +74,10 @@ public class Messages {
       fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
       Object httpHeaders = map.get("httpHeaders");
       fromMapResult.httpHeaders = (Map<Object, Object>)httpHeaders;
+      Object bufferProfile = map.get("bufferProfile");
+      fromMapResult.bufferProfile = (Map<Object, Object>)bufferProfile;
+      Object liveConfiguration = map.get("liveConfiguration");
+      fromMapResult.liveConfiguration = (Map<Object, Object>)liveConfiguration;
       return fromMapResult;
     }
   }
@@ -276,36 +290,1028 @@ public class Messages {
     }
   }
 
-  /** Generated interface from Pigeon that represents a handler of messages from Flutter.*/
-  public interface VideoPlayerApi {
-    void initialize();
-    void create(CreateMessage arg);
-    void dispose(TextureMessage arg);
-    void setLooping(LoopingMessage arg);
-    void setVolume(VolumeMessage arg);
-    void setPlaybackSpeed(PlaybackSpeedMessage arg);
-    void play(TextureMessage arg);
-    PositionMessage position(TextureMessage arg);
-    void seekTo(PositionMessage arg);
-    void pause(TextureMessage arg);
-    void setMixWithOthers(MixWithOthersMessage arg);
-    void setAudio(AudioMessage arg);
-    AudioMessage getAudios(TextureMessage arg);
-    void setAudioByIndex(AudioMessage arg);
-    void setSubtitle(SubtitleMessage arg);
-    SubtitleMessage getSubtitles(TextureMessage arg);
-    void setSubtitleByIndex(SubtitleMessage arg);
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class CacheOptionsMessage {
+    private Long maxCacheSize;
+    public Long getMaxCacheSize() { return maxCacheSize; }
+    public void setMaxCacheSize(Long setterArg) { this.maxCacheSize = setterArg; }
 
-    /** Sets up an instance of `VideoPlayerApi` to handle messages through the `binaryMessenger`. */
-    static void setup(BinaryMessenger binaryMessenger, VideoPlayerApi api) {
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("maxCacheSize", maxCacheSize);
+      return toMapResult;
+    }
+    static CacheOptionsMessage fromMap(Map<String, Object> map) {
+      CacheOptionsMessage fromMapResult = new CacheOptionsMessage();
+      Object maxCacheSize = map.get("maxCacheSize");
+      fromMapResult.maxCacheSize = (maxCacheSize == null) ? null : ((maxCacheSize instanceof Integer) ? (Integer)maxCacheSize : (Long)maxCacheSize);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PrefetchMessage {
+    private List<Object> uris;
+    public List<Object> getUris() { return uris; }
+    public void setUris(List<Object> setterArg) { this.uris = setterArg; }
+
+    private Long maxBytes;
+    public Long getMaxBytes() { return maxBytes; }
+    public void setMaxBytes(Long setterArg) { this.maxBytes = setterArg; }
+
+    private Long priority;
+    public Long getPriority() { return priority; }
+    public void setPriority(Long setterArg) { this.priority = setterArg; }
+
+    private Map<Object, Object> httpHeaders;
+    public Map<Object, Object> getHttpHeaders() { return httpHeaders; }
+    public void setHttpHeaders(Map<Object, Object> setterArg) { this.httpHeaders = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("uris", uris);
+      toMapResult.put("maxBytes", maxBytes);
+      toMapResult.put("priority", priority);
+      toMapResult.put("httpHeaders", httpHeaders);
+      return toMapResult;
+    }
+    static PrefetchMessage fromMap(Map<String, Object> map) {
+      PrefetchMessage fromMapResult = new PrefetchMessage();
+      Object uris = map.get("uris");
+      fromMapResult.uris = (List<Object>)uris;
+      Object maxBytes = map.get("maxBytes");
+      fromMapResult.maxBytes = (maxBytes == null) ? null : ((maxBytes instanceof Integer) ? (Integer)maxBytes : (Long)maxBytes);
+      Object priority = map.get("priority");
+      fromMapResult.priority = (priority == null) ? null : ((priority instanceof Integer) ? (Integer)priority : (Long)priority);
+      Object httpHeaders = map.get("httpHeaders");
+      fromMapResult.httpHeaders = (Map<Object, Object>)httpHeaders;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PlayerPoolMessage {
+    private Long maxSize;
+    public Long getMaxSize() { return maxSize; }
+    public void setMaxSize(Long setterArg) { this.maxSize = setterArg; }
+
+    private Long idleCount;
+    public Long getIdleCount() { return idleCount; }
+    public void setIdleCount(Long setterArg) { this.idleCount = setterArg; }
+
+    private Long hitCount;
+    public Long getHitCount() { return hitCount; }
+    public void setHitCount(Long setterArg) { this.hitCount = setterArg; }
+
+    private Long missCount;
+    public Long getMissCount() { return missCount; }
+    public void setMissCount(Long setterArg) { this.missCount = setterArg; }
+
+    private Long totalConstructionTimeUs;
+    public Long getTotalConstructionTimeUs() { return totalConstructionTimeUs; }
+    public void setTotalConstructionTimeUs(Long setterArg) { this.totalConstructionTimeUs = setterArg; }
+
+    private Long pendingReleaseCount;
+    public Long getPendingReleaseCount() { return pendingReleaseCount; }
+    public void setPendingReleaseCount(Long setterArg) { this.pendingReleaseCount = setterArg; }
+
+    private Long releaseTimeoutCount;
+    public Long getReleaseTimeoutCount() { return releaseTimeoutCount; }
+    public void setReleaseTimeoutCount(Long setterArg) { this.releaseTimeoutCount = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("maxSize", maxSize);
+      toMapResult.put("idleCount", idleCount);
+      toMapResult.put("hitCount", hitCount);
+      toMapResult.put("missCount", missCount);
+      toMapResult.put("totalConstructionTimeUs", totalConstructionTimeUs);
+      toMapResult.put("pendingReleaseCount", pendingReleaseCount);
+      toMapResult.put("releaseTimeoutCount", releaseTimeoutCount);
+      return toMapResult;
+    }
+    static PlayerPoolMessage fromMap(Map<String, Object> map) {
+      PlayerPoolMessage fromMapResult = new PlayerPoolMessage();
+      Object maxSize = map.get("maxSize");
+      fromMapResult.maxSize = (maxSize == null) ? null : ((maxSize instanceof Integer) ? (Integer)maxSize : (Long)maxSize);
+      Object idleCount = map.get("idleCount");
+      fromMapResult.idleCount = (idleCount == null) ? null : ((idleCount instanceof Integer) ? (Integer)idleCount : (Long)idleCount);
+      Object hitCount = map.get("hitCount");
+      fromMapResult.hitCount = (hitCount == null) ? null : ((hitCount instanceof Integer) ? (Integer)hitCount : (Long)hitCount);
+      Object missCount = map.get("missCount");
+      fromMapResult.missCount = (missCount == null) ? null : ((missCount instanceof Integer) ? (Integer)missCount : (Long)missCount);
+      Object totalConstructionTimeUs = map.get("totalConstructionTimeUs");
+      fromMapResult.totalConstructionTimeUs = (totalConstructionTimeUs == null) ? null : ((totalConstructionTimeUs instanceof Integer) ? (Integer)totalConstructionTimeUs : (Long)totalConstructionTimeUs);
+      Object pendingReleaseCount = map.get("pendingReleaseCount");
+      fromMapResult.pendingReleaseCount = (pendingReleaseCount == null) ? null : ((pendingReleaseCount instanceof Integer) ? (Integer)pendingReleaseCount : (Long)pendingReleaseCount);
+      Object releaseTimeoutCount = map.get("releaseTimeoutCount");
+      fromMapResult.releaseTimeoutCount = (releaseTimeoutCount == null) ? null : ((releaseTimeoutCount instanceof Integer) ? (Integer)releaseTimeoutCount : (Long)releaseTimeoutCount);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PlaybackThreadMessage {
+    private String threadMode;
+    public String getThreadMode() { return threadMode; }
+    public void setThreadMode(String setterArg) { this.threadMode = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("threadMode", threadMode);
+      return toMapResult;
+    }
+    static PlaybackThreadMessage fromMap(Map<String, Object> map) {
+      PlaybackThreadMessage fromMapResult = new PlaybackThreadMessage();
+      Object threadMode = map.get("threadMode");
+      fromMapResult.threadMode = (String)threadMode;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class ProgressIntervalMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Long intervalMs;
+    public Long getIntervalMs() { return intervalMs; }
+    public void setIntervalMs(Long setterArg) { this.intervalMs = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("intervalMs", intervalMs);
+      return toMapResult;
+    }
+    static ProgressIntervalMessage fromMap(Map<String, Object> map) {
+      ProgressIntervalMessage fromMapResult = new ProgressIntervalMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object intervalMs = map.get("intervalMs");
+      fromMapResult.intervalMs = (intervalMs == null) ? null : ((intervalMs instanceof Integer) ? (Integer)intervalMs : (Long)intervalMs);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class BatchMessage {
+    private List<Object> commands;
+    public List<Object> getCommands() { return commands; }
+    public void setCommands(List<Object> setterArg) { this.commands = setterArg; }
+
+    private List<Object> results;
+    public List<Object> getResults() { return results; }
+    public void setResults(List<Object> setterArg) { this.results = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("commands", commands);
+      toMapResult.put("results", results);
+      return toMapResult;
+    }
+    static BatchMessage fromMap(Map<String, Object> map) {
+      BatchMessage fromMapResult = new BatchMessage();
+      Object commands = map.get("commands");
+      fromMapResult.commands = (List<Object>)commands;
+      Object results = map.get("results");
+      fromMapResult.results = (List<Object>)results;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PlaybackMetricsMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Boolean eventsEnabled;
+    public Boolean getEventsEnabled() { return eventsEnabled; }
+    public void setEventsEnabled(Boolean setterArg) { this.eventsEnabled = setterArg; }
+
+    private Map<Object, Object> metrics;
+    public Map<Object, Object> getMetrics() { return metrics; }
+    public void setMetrics(Map<Object, Object> setterArg) { this.metrics = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("eventsEnabled", eventsEnabled);
+      toMapResult.put("metrics", metrics);
+      return toMapResult;
+    }
+    static PlaybackMetricsMessage fromMap(Map<String, Object> map) {
+      PlaybackMetricsMessage fromMapResult = new PlaybackMetricsMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object eventsEnabled = map.get("eventsEnabled");
+      fromMapResult.eventsEnabled = (Boolean)eventsEnabled;
+      Object metrics = map.get("metrics");
+      fromMapResult.metrics = (Map<Object, Object>)metrics;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class BufferOptionsMessage {
+    private Map<Object, Object> defaultProfile;
+    public Map<Object, Object> getDefaultProfile() { return defaultProfile; }
+    public void setDefaultProfile(Map<Object, Object> setterArg) { this.defaultProfile = setterArg; }
+
+    private Long memoryBudgetBytes;
+    public Long getMemoryBudgetBytes() { return memoryBudgetBytes; }
+    public void setMemoryBudgetBytes(Long setterArg) { this.memoryBudgetBytes = setterArg; }
+
+    private Long allocatedBytes;
+    public Long getAllocatedBytes() { return allocatedBytes; }
+    public void setAllocatedBytes(Long setterArg) { this.allocatedBytes = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("defaultProfile", defaultProfile);
+      toMapResult.put("memoryBudgetBytes", memoryBudgetBytes);
+      toMapResult.put("allocatedBytes", allocatedBytes);
+      return toMapResult;
+    }
+    static BufferOptionsMessage fromMap(Map<String, Object> map) {
+      BufferOptionsMessage fromMapResult = new BufferOptionsMessage();
+      Object defaultProfile = map.get("defaultProfile");
+      fromMapResult.defaultProfile = (Map<Object, Object>)defaultProfile;
+      Object memoryBudgetBytes = map.get("memoryBudgetBytes");
+      fromMapResult.memoryBudgetBytes = (memoryBudgetBytes == null) ? null : ((memoryBudgetBytes instanceof Integer) ? (Integer)memoryBudgetBytes : (Long)memoryBudgetBytes);
+      Object allocatedBytes = map.get("allocatedBytes");
+      fromMapResult.allocatedBytes = (allocatedBytes == null) ? null : ((allocatedBytes instanceof Integer) ? (Integer)allocatedBytes : (Long)allocatedBytes);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class DecoderOptionsMessage {
+    private String defaultMode;
+    public String getDefaultMode() { return defaultMode; }
+    public void setDefaultMode(String setterArg) { this.defaultMode = setterArg; }
+
+    private Map<Object, Object> modes;
+    public Map<Object, Object> getModes() { return modes; }
+    public void setModes(Map<Object, Object> setterArg) { this.modes = setterArg; }
+
+    private Boolean ffmpegAvailable;
+    public Boolean getFfmpegAvailable() { return ffmpegAvailable; }
+    public void setFfmpegAvailable(Boolean setterArg) { this.ffmpegAvailable = setterArg; }
+
+    private Map<Object, Object> stats;
+    public Map<Object, Object> getStats() { return stats; }
+    public void setStats(Map<Object, Object> setterArg) { this.stats = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("defaultMode", defaultMode);
+      toMapResult.put("modes", modes);
+      toMapResult.put("ffmpegAvailable", ffmpegAvailable);
+      toMapResult.put("stats", stats);
+      return toMapResult;
+    }
+    static DecoderOptionsMessage fromMap(Map<String, Object> map) {
+      DecoderOptionsMessage fromMapResult = new DecoderOptionsMessage();
+      Object defaultMode = map.get("defaultMode");
+      fromMapResult.defaultMode = (String)defaultMode;
+      Object modes = map.get("modes");
+      fromMapResult.modes = (Map<Object, Object>)modes;
+      Object ffmpegAvailable = map.get("ffmpegAvailable");
+      fromMapResult.ffmpegAvailable = (Boolean)ffmpegAvailable;
+      Object stats = map.get("stats");
+      fromMapResult.stats = (Map<Object, Object>)stats;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class TexturePlayerMessage {
+    private Long playerId;
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long setterArg) { this.playerId = setterArg; }
+
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("playerId", playerId);
+      toMapResult.put("textureId", textureId);
+      return toMapResult;
+    }
+    static TexturePlayerMessage fromMap(Map<String, Object> map) {
+      TexturePlayerMessage fromMapResult = new TexturePlayerMessage();
+      Object playerId = map.get("playerId");
+      fromMapResult.playerId = (playerId == null) ? null : ((playerId instanceof Integer) ? (Integer)playerId : (Long)playerId);
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class HttpOptionsMessage {
+    private String stack;
+    public String getStack() { return stack; }
+    public void setStack(String setterArg) { this.stack = setterArg; }
+
+    private Long dnsCacheTtlMs;
+    public Long getDnsCacheTtlMs() { return dnsCacheTtlMs; }
+    public void setDnsCacheTtlMs(Long setterArg) { this.dnsCacheTtlMs = setterArg; }
+
+    private Map<Object, Object> stats;
+    public Map<Object, Object> getStats() { return stats; }
+    public void setStats(Map<Object, Object> setterArg) { this.stats = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("stack", stack);
+      toMapResult.put("dnsCacheTtlMs", dnsCacheTtlMs);
+      toMapResult.put("stats", stats);
+      return toMapResult;
+    }
+    static HttpOptionsMessage fromMap(Map<String, Object> map) {
+      HttpOptionsMessage fromMapResult = new HttpOptionsMessage();
+      Object stack = map.get("stack");
+      fromMapResult.stack = (String)stack;
+      Object dnsCacheTtlMs = map.get("dnsCacheTtlMs");
+      fromMapResult.dnsCacheTtlMs = (dnsCacheTtlMs == null) ? null : ((dnsCacheTtlMs instanceof Integer) ? (Integer)dnsCacheTtlMs : (Long)dnsCacheTtlMs);
+      Object stats = map.get("stats");
+      fromMapResult.stats = (Map<Object, Object>)stats;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PreconnectMessage {
+    private List<Object> hosts;
+    public List<Object> getHosts() { return hosts; }
+    public void setHosts(List<Object> setterArg) { this.hosts = setterArg; }
+
+    private Map<Object, Object> states;
+    public Map<Object, Object> getStates() { return states; }
+    public void setStates(Map<Object, Object> setterArg) { this.states = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("hosts", hosts);
+      toMapResult.put("states", states);
+      return toMapResult;
+    }
+    static PreconnectMessage fromMap(Map<String, Object> map) {
+      PreconnectMessage fromMapResult = new PreconnectMessage();
+      Object hosts = map.get("hosts");
+      fromMapResult.hosts = (List<Object>)hosts;
+      Object states = map.get("states");
+      fromMapResult.states = (Map<Object, Object>)states;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PlaylistMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private List<Object> items;
+    public List<Object> getItems() { return items; }
+    public void setItems(List<Object> setterArg) { this.items = setterArg; }
+
+    private Long index;
+    public Long getIndex() { return index; }
+    public void setIndex(Long setterArg) { this.index = setterArg; }
+
+    private Long toIndex;
+    public Long getToIndex() { return toIndex; }
+    public void setToIndex(Long setterArg) { this.toIndex = setterArg; }
+
+    private Long positionMs;
+    public Long getPositionMs() { return positionMs; }
+    public void setPositionMs(Long setterArg) { this.positionMs = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("items", items);
+      toMapResult.put("index", index);
+      toMapResult.put("toIndex", toIndex);
+      toMapResult.put("positionMs", positionMs);
+      return toMapResult;
+    }
+    static PlaylistMessage fromMap(Map<String, Object> map) {
+      PlaylistMessage fromMapResult = new PlaylistMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object items = map.get("items");
+      fromMapResult.items = (List<Object>)items;
+      Object index = map.get("index");
+      fromMapResult.index = (index == null) ? null : ((index instanceof Integer) ? (Integer)index : (Long)index);
+      Object toIndex = map.get("toIndex");
+      fromMapResult.toIndex = (toIndex == null) ? null : ((toIndex instanceof Integer) ? (Integer)toIndex : (Long)toIndex);
+      Object positionMs = map.get("positionMs");
+      fromMapResult.positionMs = (positionMs == null) ? null : ((positionMs instanceof Integer) ? (Integer)positionMs : (Long)positionMs);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class AudioOnlyMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Boolean audioOnly;
+    public Boolean getAudioOnly() { return audioOnly; }
+    public void setAudioOnly(Boolean setterArg) { this.audioOnly = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("audioOnly", audioOnly);
+      return toMapResult;
+    }
+    static AudioOnlyMessage fromMap(Map<String, Object> map) {
+      AudioOnlyMessage fromMapResult = new AudioOnlyMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object audioOnly = map.get("audioOnly");
+      fromMapResult.audioOnly = (Boolean)audioOnly;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class VideoConstraintsMessage {
+    private Long textureId;
+    public Long getTextureId() { return textureId; }
+    public void setTextureId(Long setterArg) { this.textureId = setterArg; }
+
+    private Long maxBitrate;
+    public Long getMaxBitrate() { return maxBitrate; }
+    public void setMaxBitrate(Long setterArg) { this.maxBitrate = setterArg; }
+
+    private Long maxWidth;
+    public Long getMaxWidth() { return maxWidth; }
+    public void setMaxWidth(Long setterArg) { this.maxWidth = setterArg; }
+
+    private Long maxHeight;
+    public Long getMaxHeight() { return maxHeight; }
+    public void setMaxHeight(Long setterArg) { this.maxHeight = setterArg; }
+
+    private Long viewportWidth;
+    public Long getViewportWidth() { return viewportWidth; }
+    public void setViewportWidth(Long setterArg) { this.viewportWidth = setterArg; }
+
+    private Long viewportHeight;
+    public Long getViewportHeight() { return viewportHeight; }
+    public void setViewportHeight(Long setterArg) { this.viewportHeight = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("maxBitrate", maxBitrate);
+      toMapResult.put("maxWidth", maxWidth);
+      toMapResult.put("maxHeight", maxHeight);
+      toMapResult.put("viewportWidth", viewportWidth);
+      toMapResult.put("viewportHeight", viewportHeight);
+      return toMapResult;
+    }
+    static VideoConstraintsMessage fromMap(Map<String, Object> map) {
+      VideoConstraintsMessage fromMapResult = new VideoConstraintsMessage();
+      Object textureId = map.get("textureId");
+      fromMapResult.textureId = (textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId);
+      Object maxBitrate = map.get("maxBitrate");
+      fromMapResult.maxBitrate = (maxBitrate == null) ? null : ((maxBitrate instanceof Integer) ? (Integer)maxBitrate : (Long)maxBitrate);
+      Object maxWidth = map.get("maxWidth");
+      fromMapResult.maxWidth = (maxWidth == null) ? null : ((maxWidth instanceof Integer) ? (Integer)maxWidth : (Long)maxWidth);
+      Object maxHeight = map.get("maxHeight");
+      fromMapResult.maxHeight = (maxHeight == null) ? null : ((maxHeight instanceof Integer) ? (Integer)maxHeight : (Long)maxHeight);
+      Object viewportWidth = map.get("viewportWidth");
+      fromMapResult.viewportWidth = (viewportWidth == null) ? null : ((viewportWidth instanceof Integer) ? (Integer)viewportWidth : (Long)viewportWidth);
+      Object viewportHeight = map.get("viewportHeight");
+      fromMapResult.viewportHeight = (viewportHeight == null) ? null : ((viewportHeight instanceof Integer) ? (Integer)viewportHeight : (Long)viewportHeight);
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class DownloadMessage {
+    private String uri;
+    public String getUri() { return uri; }
+    public void setUri(String setterArg) { this.uri = setterArg; }
+
+    private String formatHint;
+    public String getFormatHint() { return formatHint; }
+    public void setFormatHint(String setterArg) { this.formatHint = setterArg; }
+
+    private Long maxBitrate;
+    public Long getMaxBitrate() { return maxBitrate; }
+    public void setMaxBitrate(Long setterArg) { this.maxBitrate = setterArg; }
+
+    private Long maxBytes;
+    public Long getMaxBytes() { return maxBytes; }
+    public void setMaxBytes(Long setterArg) { this.maxBytes = setterArg; }
+
+    private Long usedBytes;
+    public Long getUsedBytes() { return usedBytes; }
+    public void setUsedBytes(Long setterArg) { this.usedBytes = setterArg; }
+
+    private List<Object> downloads;
+    public List<Object> getDownloads() { return downloads; }
+    public void setDownloads(List<Object> setterArg) { this.downloads = setterArg; }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("uri", uri);
+      toMapResult.put("formatHint", formatHint);
+      toMapResult.put("maxBitrate", maxBitrate);
+      toMapResult.put("maxBytes", maxBytes);
+      toMapResult.put("usedBytes", usedBytes);
+      toMapResult.put("downloads", downloads);
+      return toMapResult;
+    }
+    static DownloadMessage fromMap(Map<String, Object> map) {
+      DownloadMessage fromMapResult = new DownloadMessage();
+      Object uri = map.get("uri");
+      fromMapResult.uri = (String)uri;
+      Object formatHint = map.get("formatHint");
+      fromMapResult.formatHint = (String)formatHint;
+      Object maxBitrate = map.get("maxBitrate");
+      fromMapResult.maxBitrate = (maxBitrate == null) ? null : ((maxBitrate instanceof Integer) ? (Integer)maxBitrate : (Long)maxBitrate);
+      Object maxBytes = map.get("maxBytes");
+      fromMapResult.maxBytes = (maxBytes == null) ? null : ((maxBytes instanceof Integer) ? (Integer)maxBytes : (Long)maxBytes);
+      Object usedBytes = map.get("usedBytes");
+      fromMapResult.usedBytes = (usedBytes == null) ? null : ((usedBytes instanceof Integer) ? (Integer)usedBytes : (Long)usedBytes);
+      Object downloads = map.get("downloads");
+      fromMapResult.downloads = (List<Object>)downloads;
+      return fromMapResult;
+    }
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter.*/
+  public interface VideoPlayerApi {
+    void initialize();
+    void create(CreateMessage arg);
+    void dispose(TextureMessage arg);
+    void setLooping(LoopingMessage arg);
+    void setVolume(VolumeMessage arg);
+    void setPlaybackSpeed(PlaybackSpeedMessage arg);
+    void play(TextureMessage arg);
+    PositionMessage position(TextureMessage arg);
+    void seekTo(PositionMessage arg);
+    void pause(TextureMessage arg);
+    void setMixWithOthers(MixWithOthersMessage arg);
+    void setAudio(AudioMessage arg);
+    AudioMessage getAudios(TextureMessage arg);
+    void setAudioByIndex(AudioMessage arg);
+    void setSubtitle(SubtitleMessage arg);
+    SubtitleMessage getSubtitles(TextureMessage arg);
+    void setSubtitleByIndex(SubtitleMessage arg);
+    void setCacheOptions(CacheOptionsMessage arg);
+    void prefetch(PrefetchMessage arg);
+    void cancelPrefetch(PrefetchMessage arg);
+    void setPlayerPoolOptions(PlayerPoolMessage arg);
+    PlayerPoolMessage getPlayerPoolStats();
+    void setPlaybackThreadOptions(PlaybackThreadMessage arg);
+    void setProgressInterval(ProgressIntervalMessage arg);
+    BatchMessage batch(BatchMessage arg);
+    PlaybackMetricsMessage getPlaybackMetrics(TextureMessage arg);
+    void setPlaybackMetricsEvents(PlaybackMetricsMessage arg);
+    void setBufferOptions(BufferOptionsMessage arg);
+    BufferOptionsMessage getBufferStats();
+    void setDecoderOptions(DecoderOptionsMessage arg);
+    DecoderOptionsMessage getDecoderStats();
+    TexturePlayerMessage createTexturePlayer();
+    void setHttpOptions(HttpOptionsMessage arg);
+    HttpOptionsMessage getHttpStats();
+    void preconnect(PreconnectMessage arg);
+    PreconnectMessage getPreconnectStates();
+    void addPlaylistItems(PlaylistMessage arg);
+    void removePlaylistItems(PlaylistMessage arg);
+    void movePlaylistItem(PlaylistMessage arg);
+    void seekToPlaylistItem(PlaylistMessage arg);
+    void setAudioOnly(AudioOnlyMessage arg);
+    void setVideoConstraints(VideoConstraintsMessage arg);
+    void startDownload(DownloadMessage arg);
+    void pauseDownload(DownloadMessage arg);
+    void removeDownload(DownloadMessage arg);
+    DownloadMessage getDownloads();
+    void setDownloadOptions(DownloadMessage arg);
+
+    /** Sets up an instance of `VideoPlayerApi` to handle messages through the `binaryMessenger`. */
+    static void setup(BinaryMessenger binaryMessenger, VideoPlayerApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.initialize", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              api.initialize();
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.create", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              CreateMessage input = CreateMessage.fromMap((Map<String, Object>)message);
+              api.create(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.dispose", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
+              api.dispose(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setLooping", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              LoopingMessage input = LoopingMessage.fromMap((Map<String, Object>)message);
+              api.setLooping(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setVolume", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              VolumeMessage input = VolumeMessage.fromMap((Map<String, Object>)message);
+              api.setVolume(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPlaybackSpeed", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PlaybackSpeedMessage input = PlaybackSpeedMessage.fromMap((Map<String, Object>)message);
+              api.setPlaybackSpeed(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.play", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
+              api.play(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.position", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
+              PositionMessage output = api.position(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.seekTo", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PositionMessage input = PositionMessage.fromMap((Map<String, Object>)message);
+              api.seekTo(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.pause", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
+              api.pause(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setMixWithOthers", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              MixWithOthersMessage input = MixWithOthersMessage.fromMap((Map<String, Object>)message);
+              api.setMixWithOthers(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setAudio", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              AudioMessage input = AudioMessage.fromMap((Map<String, Object>)message);
+              api.setAudio(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getAudios", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
+              AudioMessage output = api.getAudios(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setAudioByIndex", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              AudioMessage input = AudioMessage.fromMap((Map<String, Object>)message);
+              api.setAudioByIndex(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setSubtitle", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              SubtitleMessage input = SubtitleMessage.fromMap((Map<String, Object>)message);
+              api.setSubtitle(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getSubtitles", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
+              SubtitleMessage output = api.getSubtitles(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setSubtitleByIndex", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              SubtitleMessage input = SubtitleMessage.fromMap((Map<String, Object>)message);
+              api.setSubtitleByIndex(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setCacheOptions", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              CacheOptionsMessage input = CacheOptionsMessage.fromMap((Map<String, Object>)message);
+              api.setCacheOptions(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.prefetch", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PrefetchMessage input = PrefetchMessage.fromMap((Map<String, Object>)message);
+              api.prefetch(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.initialize", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.cancelPrefetch", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
-              api.initialize();
+              @SuppressWarnings("ConstantConditions")
+              PrefetchMessage input = PrefetchMessage.fromMap((Map<String, Object>)message);
+              api.cancelPrefetch(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -319,14 +1325,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.create", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPlayerPoolOptions", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              CreateMessage input = CreateMessage.fromMap((Map<String, Object>)message);
-              api.create(input);
+              PlayerPoolMessage input = PlayerPoolMessage.fromMap((Map<String, Object>)message);
+              api.setPlayerPoolOptions(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -340,14 +1346,33 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.dispose", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getPlayerPoolStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              PlayerPoolMessage output = api.getPlayerPoolStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPlaybackThreadOptions", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
-              api.dispose(input);
+              PlaybackThreadMessage input = PlaybackThreadMessage.fromMap((Map<String, Object>)message);
+              api.setPlaybackThreadOptions(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -361,14 +1386,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setLooping", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setProgressInterval", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              LoopingMessage input = LoopingMessage.fromMap((Map<String, Object>)message);
-              api.setLooping(input);
+              ProgressIntervalMessage input = ProgressIntervalMessage.fromMap((Map<String, Object>)message);
+              api.setProgressInterval(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -382,14 +1407,56 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setVolume", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.batch", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              VolumeMessage input = VolumeMessage.fromMap((Map<String, Object>)message);
-              api.setVolume(input);
+              BatchMessage input = BatchMessage.fromMap((Map<String, Object>)message);
+              BatchMessage output = api.batch(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getPlaybackMetrics", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
+              PlaybackMetricsMessage output = api.getPlaybackMetrics(input);
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPlaybackMetricsEvents", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              PlaybackMetricsMessage input = PlaybackMetricsMessage.fromMap((Map<String, Object>)message);
+              api.setPlaybackMetricsEvents(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -403,14 +1470,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setPlaybackSpeed", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setBufferOptions", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              PlaybackSpeedMessage input = PlaybackSpeedMessage.fromMap((Map<String, Object>)message);
-              api.setPlaybackSpeed(input);
+              BufferOptionsMessage input = BufferOptionsMessage.fromMap((Map<String, Object>)message);
+              api.setBufferOptions(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -424,14 +1491,33 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.play", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getBufferStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              BufferOptionsMessage output = api.getBufferStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setDecoderOptions", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
-              api.play(input);
+              DecoderOptionsMessage input = DecoderOptionsMessage.fromMap((Map<String, Object>)message);
+              api.setDecoderOptions(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -445,14 +1531,71 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.position", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getDecoderStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              DecoderOptionsMessage output = api.getDecoderStats();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.createTexturePlayer", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              TexturePlayerMessage output = api.createTexturePlayer();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setHttpOptions", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
-              PositionMessage output = api.position(input);
+              HttpOptionsMessage input = HttpOptionsMessage.fromMap((Map<String, Object>)message);
+              api.setHttpOptions(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getHttpStats", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              HttpOptionsMessage output = api.getHttpStats();
               wrapped.put("result", output.toMap());
             }
             catch (Error | RuntimeException exception) {
@@ -466,14 +1609,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.seekTo", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.preconnect", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              PositionMessage input = PositionMessage.fromMap((Map<String, Object>)message);
-              api.seekTo(input);
+              PreconnectMessage input = PreconnectMessage.fromMap((Map<String, Object>)message);
+              api.preconnect(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -487,14 +1630,33 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.pause", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getPreconnectStates", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              PreconnectMessage output = api.getPreconnectStates();
+              wrapped.put("result", output.toMap());
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.addPlaylistItems", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
-              api.pause(input);
+              PlaylistMessage input = PlaylistMessage.fromMap((Map<String, Object>)message);
+              api.addPlaylistItems(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -508,14 +1670,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setMixWithOthers", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.removePlaylistItems", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              MixWithOthersMessage input = MixWithOthersMessage.fromMap((Map<String, Object>)message);
-              api.setMixWithOthers(input);
+              PlaylistMessage input = PlaylistMessage.fromMap((Map<String, Object>)message);
+              api.removePlaylistItems(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -529,14 +1691,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setAudio", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.movePlaylistItem", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              AudioMessage input = AudioMessage.fromMap((Map<String, Object>)message);
-              api.setAudio(input);
+              PlaylistMessage input = PlaylistMessage.fromMap((Map<String, Object>)message);
+              api.movePlaylistItem(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -550,15 +1712,15 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getAudios", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.seekToPlaylistItem", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
-              AudioMessage output = api.getAudios(input);
-              wrapped.put("result", output.toMap());
+              PlaylistMessage input = PlaylistMessage.fromMap((Map<String, Object>)message);
+              api.seekToPlaylistItem(input);
+              wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
               wrapped.put("error", wrapError(exception));
@@ -571,14 +1733,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setAudioByIndex", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setAudioOnly", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              AudioMessage input = AudioMessage.fromMap((Map<String, Object>)message);
-              api.setAudioByIndex(input);
+              AudioOnlyMessage input = AudioOnlyMessage.fromMap((Map<String, Object>)message);
+              api.setAudioOnly(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -592,14 +1754,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setSubtitle", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setVideoConstraints", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              SubtitleMessage input = SubtitleMessage.fromMap((Map<String, Object>)message);
-              api.setSubtitle(input);
+              VideoConstraintsMessage input = VideoConstraintsMessage.fromMap((Map<String, Object>)message);
+              api.setVideoConstraints(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -613,14 +1775,75 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getSubtitles", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.startDownload", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              TextureMessage input = TextureMessage.fromMap((Map<String, Object>)message);
-              SubtitleMessage output = api.getSubtitles(input);
+              DownloadMessage input = DownloadMessage.fromMap((Map<String, Object>)message);
+              api.startDownload(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.pauseDownload", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              DownloadMessage input = DownloadMessage.fromMap((Map<String, Object>)message);
+              api.pauseDownload(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.removeDownload", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              @SuppressWarnings("ConstantConditions")
+              DownloadMessage input = DownloadMessage.fromMap((Map<String, Object>)message);
+              api.removeDownload(input);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.getDownloads", new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              DownloadMessage output = api.getDownloads();
               wrapped.put("result", output.toMap());
             }
             catch (Error | RuntimeException exception) {
@@ -634,14 +1857,14 @@ public class Messages {
       }
       {
         BasicMessageChannel<Object> channel =
-            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setSubtitleByIndex", new StandardMessageCodec());
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.VideoPlayerApi.setDownloadOptions", new StandardMessageCodec());
         if (api != null) {
           channel.setMessageHandler((message, reply) -> {
             Map<String, Object> wrapped = new HashMap<>();
             try {
               @SuppressWarnings("ConstantConditions")
-              SubtitleMessage input = SubtitleMessage.fromMap((Map<String, Object>)message);
-              api.setSubtitleByIndex(input);
+              DownloadMessage input = DownloadMessage.fromMap((Map<String, Object>)message);
+              api.setDownloadOptions(input);
               wrapped.put("result", null);
             }
             catch (Error | RuntimeException exception) {
@@ -0,0 +1,99 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
+import com.google.android.exoplayer2.util.NetworkTypeObserver;
+import java.util.Map;
+
+/**
+ * A {@link DefaultBandwidthMeter} shared by every player, whose estimate survives app launches.
+ *
+ * <p>The latest estimate is stored per network type. On the next launch it seeds the meter's
+ * initial estimate for that network type, so adaptive players pick their first rendition from
+ * measured bandwidth instead of ExoPlayer's per-country defaults. A single process-wide instance
+ * is kept, including for later engine attachments.
+ */
+final class PersistentBandwidthMeter implements BandwidthMeter.EventListener {
+  private static final String PREFERENCES_NAME = "io.flutter.plugins.videoplayer.bandwidth";
+  private static final String KEY_PREFIX = "bitrate.";
+  /** Minimum time between two writes of the estimate. */
+  private static final long WRITE_INTERVAL_MS = 10000;
+
+  private static PersistentBandwidthMeter instance;
+
+  private final Context context;
+  private final SharedPreferences preferences;
+  private final DefaultBandwidthMeter bandwidthMeter;
+  // Only used on the main thread, where bandwidth samples are delivered.
+  private long lastWriteTimeMs = C.TIME_UNSET;
+  private int pendingNetworkType = C.NETWORK_TYPE_UNKNOWN;
+  private long pendingBitrateEstimate = C.TIME_UNSET;
+
+  private PersistentBandwidthMeter(Context context) {
+    this.context = context;
+    preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    DefaultBandwidthMeter.Builder builder = new DefaultBandwidthMeter.Builder(context);
+    for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+      if (!entry.getKey().startsWith(KEY_PREFIX) || !(entry.getValue() instanceof Long)) {
+        continue;
+      }
+      try {
+        int networkType = Integer.parseInt(entry.getKey().substring(KEY_PREFIX.length()));
+        builder.setInitialBitrateEstimate(networkType, (Long) entry.getValue());
+      } catch (NumberFormatException e) {
+        // Not one of our keys, leave the default estimate.
+      }
+    }
+    bandwidthMeter = builder.build();
+    bandwidthMeter.addEventListener(new Handler(Looper.getMainLooper()), this);
+  }
+
+  static synchronized PersistentBandwidthMeter getInstance(Context context) {
+    if (instance == null) {
+      instance = new PersistentBandwidthMeter(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  DefaultBandwidthMeter getBandwidthMeter() {
+    return bandwidthMeter;
+  }
+
+  /** Writes the latest estimate if it hasn't been yet. Must be called on the main thread. */
+  void flush() {
+    if (pendingBitrateEstimate == C.TIME_UNSET) {
+      return;
+    }
+    preferences.edit().putLong(KEY_PREFIX + pendingNetworkType, pendingBitrateEstimate).apply();
+    pendingBitrateEstimate = C.TIME_UNSET;
+    lastWriteTimeMs = SystemClock.elapsedRealtime();
+  }
+
+  @Override
+  public void onBandwidthSample(int elapsedMs, long bytesTransferred, long bitrateEstimate) {
+    int networkType = NetworkTypeObserver.getInstance(context).getNetworkType();
+    if (networkType == C.NETWORK_TYPE_UNKNOWN || networkType == C.NETWORK_TYPE_OFFLINE) {
+      return;
+    }
+    if (pendingBitrateEstimate != C.TIME_UNSET && networkType != pendingNetworkType) {
+      // Don't lose the last estimate of the previous network.
+      flush();
+    }
+    pendingNetworkType = networkType;
+    pendingBitrateEstimate = bitrateEstimate;
+    if (lastWriteTimeMs == C.TIME_UNSET
+        || SystemClock.elapsedRealtime() - lastWriteTimeMs >= WRITE_INTERVAL_MS) {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,206 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.SystemClock;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
+import com.google.android.exoplayer2.source.LoadEventInfo;
+import com.google.android.exoplayer2.source.MediaLoadData;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Startup timings and playback health of a single player.
+ *
+ * <p>Startup stages are recorded as milliseconds since the player was created, or -1 until the
+ * stage is reached. Only the first occurrence of each stage counts. A rebuffer is a switch to
+ * buffering after the player was first ready that wasn't caused by a seek.
+ *
+ * <p>Player callbacks arrive on the player's thread, the other methods may be called from any
+ * thread.
+ */
+final class PlaybackMetrics implements AnalyticsListener {
+  private final long createTimeMs = SystemClock.elapsedRealtime();
+  /** Called on the player's thread whenever a stage is reached or a rebuffer ends. */
+  private final Runnable onUpdate;
+
+  private long setDataMs = C.TIME_UNSET;
+  private long manifestLoadedMs = C.TIME_UNSET;
+  private long firstBytesMs = C.TIME_UNSET;
+  private long decoderInitializedMs = C.TIME_UNSET;
+  private long firstFrameMs = C.TIME_UNSET;
+  private long firstReadyMs = C.TIME_UNSET;
+
+  private int rebufferCount;
+  private long rebufferDurationMs;
+  private long rebufferStartMs = C.TIME_UNSET;
+  private boolean seeking;
+  private long droppedFrames;
+  private String videoDecoderName;
+  private String audioDecoderName;
+
+  PlaybackMetrics(Runnable onUpdate) {
+    this.onUpdate = onUpdate;
+  }
+
+  synchronized void markSetData() {
+    if (setDataMs == C.TIME_UNSET) {
+      setDataMs = sinceCreate();
+    }
+  }
+
+  /** Called by the data sources whenever media bytes arrive, from the thread loading them. */
+  synchronized void markBytesTransferred() {
+    if (firstBytesMs == C.TIME_UNSET) {
+      firstBytesMs = sinceCreate();
+    }
+  }
+
+  /** Returns the metrics in the form sent to Dart. */
+  synchronized Map<String, Object> toMap() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("setDataMs", orMinusOne(setDataMs));
+    metrics.put("manifestLoadedMs", orMinusOne(manifestLoadedMs));
+    metrics.put("firstBytesMs", orMinusOne(firstBytesMs));
+    metrics.put("decoderInitializedMs", orMinusOne(decoderInitializedMs));
+    metrics.put("firstFrameMs", orMinusOne(firstFrameMs));
+    metrics.put("firstReadyMs", orMinusOne(firstReadyMs));
+    metrics.put("rebufferCount", (long) rebufferCount);
+    long stallMs = rebufferDurationMs;
+    if (rebufferStartMs != C.TIME_UNSET) {
+      stallMs += sinceCreate() - rebufferStartMs;
+    }
+    metrics.put("rebufferDurationMs", stallMs);
+    metrics.put("droppedFrames", droppedFrames);
+    metrics.put("videoDecoder", videoDecoderName);
+    metrics.put("audioDecoder", audioDecoderName);
+    return metrics;
+  }
+
+  @Override
+  public void onLoadCompleted(
+      EventTime eventTime, LoadEventInfo loadEventInfo, MediaLoadData mediaLoadData) {
+    if (mediaLoadData.dataType != C.DATA_TYPE_MANIFEST) {
+      return;
+    }
+    synchronized (this) {
+      if (manifestLoadedMs != C.TIME_UNSET) {
+        return;
+      }
+      manifestLoadedMs = sinceCreate();
+    }
+    onUpdate.run();
+  }
+
+  @Override
+  public void onVideoDecoderInitialized(
+      EventTime eventTime,
+      String decoderName,
+      long initializedTimestampMs,
+      long initializationDurationMs) {
+    synchronized (this) {
+      videoDecoderName = decoderName;
+      markDecoderInitialized();
+    }
+    onUpdate.run();
+  }
+
+  @Override
+  public void onAudioDecoderInitialized(
+      EventTime eventTime,
+      String decoderName,
+      long initializedTimestampMs,
+      long initializationDurationMs) {
+    synchronized (this) {
+      audioDecoderName = decoderName;
+      markDecoderInitialized();
+    }
+    onUpdate.run();
+  }
+
+  @Override
+  public void onRenderedFirstFrame(EventTime eventTime, Object output, long renderTimeMs) {
+    synchronized (this) {
+      if (firstFrameMs != C.TIME_UNSET) {
+        return;
+      }
+      firstFrameMs = sinceCreate();
+    }
+    onUpdate.run();
+  }
+
+  @Override
+  public void onPositionDiscontinuity(
+      EventTime eventTime,
+      Player.PositionInfo oldPosition,
+      Player.PositionInfo newPosition,
+      int reason) {
+    if (reason == Player.DISCONTINUITY_REASON_SEEK) {
+      synchronized (this) {
+        seeking = true;
+      }
+    }
+  }
+
+  @Override
+  public void onPlaybackStateChanged(EventTime eventTime, int state) {
+    boolean updated = false;
+    synchronized (this) {
+      long nowMs = sinceCreate();
+      if (state == Player.STATE_BUFFERING) {
+        if (firstReadyMs != C.TIME_UNSET && !seeking && rebufferStartMs == C.TIME_UNSET) {
+          rebufferCount++;
+          rebufferStartMs = nowMs;
+        }
+      } else {
+        if (rebufferStartMs != C.TIME_UNSET) {
+          rebufferDurationMs += nowMs - rebufferStartMs;
+          rebufferStartMs = C.TIME_UNSET;
+          updated = true;
+        }
+        if (state == Player.STATE_READY) {
+          if (firstReadyMs == C.TIME_UNSET) {
+            firstReadyMs = nowMs;
+            updated = true;
+          }
+        }
+      }
+    }
+    if (updated) {
+      onUpdate.run();
+    }
+  }
+
+  @Override
+  public void onEvents(Player player, Events events) {
+    // A seek reports its discontinuity and the buffering it causes in the same batch of events.
+    synchronized (this) {
+      seeking = false;
+    }
+  }
+
+  @Override
+  public void onDroppedVideoFrames(EventTime eventTime, int droppedFrames, long elapsedMs) {
+    synchronized (this) {
+      this.droppedFrames += droppedFrames;
+    }
+  }
+
+  private void markDecoderInitialized() {
+    if (decoderInitializedMs == C.TIME_UNSET) {
+      decoderInitializedMs = sinceCreate();
+    }
+  }
+
+  private long sinceCreate() {
+    return SystemClock.elapsedRealtime() - createTimeMs;
+  }
+
+  private static long orMinusOne(long timeMs) {
+    return timeMs == C.TIME_UNSET ? -1 : timeMs;
+  }
+}
@@ -0,0 +1,136 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.os.SystemClock;
+import io.flutter.Log;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connects ahead of time to the origins upcoming videos are served from, so their first request
+ * skips DNS, TCP and TLS setup.
+ *
+ * <p>Each origin is warmed through {@link HttpStack#warm(String)} on a small background pool. A
+ * warm origin turns cold again once its connection would have left the pool, after {@link
+ * HttpStack#KEEP_ALIVE_MS}.
+ */
+final class Preconnector {
+  static final String STATE_COLD = "cold";
+  static final String STATE_WARMING = "warming";
+  static final String STATE_WARM = "warm";
+  static final String STATE_FAILED = "failed";
+
+  private static final String TAG = "Preconnector";
+  private static final int THREAD_COUNT = 2;
+
+  private final HttpStack httpStack;
+  private final ThreadPoolExecutor executor;
+  private final Set<String> warming = new HashSet<>();
+  private final Map<String, Long> warmTimesMs = new HashMap<>();
+  private final Set<String> failed = new HashSet<>();
+
+  Preconnector(HttpStack httpStack) {
+    this.httpStack = httpStack;
+    executor =
+        new ThreadPoolExecutor(
+            THREAD_COUNT,
+            THREAD_COUNT,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              Thread thread = new Thread(runnable, TAG);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Warms {@code host}, either a bare host name, which is reached over HTTPS, or an HTTP(S) URL
+   * whose origin is used. Does nothing if the origin is already warm or being warmed.
+   */
+  synchronized void preconnect(String host) {
+    String origin = toOrigin(host);
+    if (origin == null) {
+      Log.w(TAG, "Not a host or URL: " + host);
+      return;
+    }
+    String state = stateOf(origin);
+    if (STATE_WARMING.equals(state) || STATE_WARM.equals(state)) {
+      return;
+    }
+    warming.add(origin);
+    failed.remove(origin);
+    executor.execute(() -> warm(origin));
+  }
+
+  /** Returns the state of every origin passed to {@link #preconnect(String)}. */
+  synchronized Map<String, String> getStates() {
+    Map<String, String> result = new HashMap<>();
+    for (String origin : warming) {
+      result.put(origin, STATE_WARMING);
+    }
+    for (String origin : warmTimesMs.keySet()) {
+      result.put(origin, stateOf(origin));
+    }
+    for (String origin : failed) {
+      result.put(origin, STATE_FAILED);
+    }
+    return result;
+  }
+
+  void release() {
+    executor.shutdownNow();
+  }
+
+  private void warm(String origin) {
+    try {
+      httpStack.warm(origin);
+      synchronized (this) {
+        warming.remove(origin);
+        warmTimesMs.put(origin, SystemClock.elapsedRealtime());
+      }
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to preconnect to " + origin, e);
+      synchronized (this) {
+        warming.remove(origin);
+        warmTimesMs.remove(origin);
+        failed.add(origin);
+      }
+    }
+  }
+
+  private String stateOf(String origin) {
+    if (warming.contains(origin)) {
+      return STATE_WARMING;
+    }
+    if (failed.contains(origin)) {
+      return STATE_FAILED;
+    }
+    Long warmTimeMs = warmTimesMs.get(origin);
+    return warmTimeMs != null
+            && SystemClock.elapsedRealtime() - warmTimeMs < HttpStack.KEEP_ALIVE_MS
+        ? STATE_WARM
+        : STATE_COLD;
+  }
+
+  private static String toOrigin(String host) {
+    Uri uri = Uri.parse(host.contains("://") ? host : "https://" + host);
+    if (!("https".equals(uri.getScheme()) || "http".equals(uri.getScheme()))
+        || uri.getAuthority() == null) {
+      return null;
+    }
+    return uri.getScheme() + "://" + uri.getAuthority();
+  }
+}
@@ -5,7 +5,8 @@
 package io.flutter.plugins.videoplayer;
 
 import io.flutter.plugin.common.EventChannel;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * And implementation of {@link EventChannel.EventSink} which can wrap an underlying sink.
@@ -13,60 +14,214 @@ import java.util.ArrayList;
  * <p>It delivers messages immediately when downstream is available, but it queues messages before
  * the delegate event sink is set with setDelegate.
  *
- * <p>This class is not thread-safe. All calls must be done on the same thread or synchronized
- * externally.
+ * <p>The queue is bounded. Events that only carry the latest state, such as buffering updates,
+ * progress and the track lists, replace an older queued event of the same kind instead of taking
+ * another slot. When the queue is full the oldest such event is dropped, or the new event if it is
+ * one and there is no older one. Lifecycle and error events, such as {@code initialized} and
+ * {@code completed}, are never dropped, the queue grows past its capacity for them. The number of
+ * coalesced and dropped events is sent as an {@code eventQueueStats} event once a delegate is
+ * attached.
+ *
+ * <p>This class is thread-safe. Events are delivered in order on the thread that calls into the
+ * sink while a delegate is set, which for a Flutter event channel must be the platform thread.
  */
 final class QueuingEventSink implements EventChannel.EventSink {
+  static final int DEFAULT_CAPACITY = 64;
+
+  private static final String[] COALESCED_EVENTS = {
+    "bufferingUpdate",
+    "progress",
+    "cacheStats",
+    "tracksChanged",
+    "playbackMetrics",
+    "cues",
+    "liveLatency"
+  };
+
+  private final int capacity;
+  private Object[] queue;
+  private int head;
+  private int size;
   private EventChannel.EventSink delegate;
-  private ArrayList<Object> eventQueue = new ArrayList<>();
   private boolean done = false;
+  private boolean flushing = false;
+  private long droppedCount;
+  private long coalescedCount;
+  private long reportedDroppedCount;
+  private long reportedCoalescedCount;
+
+  QueuingEventSink() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  QueuingEventSink(int capacity) {
+    this.capacity = capacity;
+    queue = new Object[capacity];
+  }
 
   public void setDelegate(EventChannel.EventSink delegate) {
-    this.delegate = delegate;
+    Map<String, Object> stats = null;
+    synchronized (this) {
+      this.delegate = delegate;
+      if (delegate != null
+          && (droppedCount != reportedDroppedCount || coalescedCount != reportedCoalescedCount)) {
+        stats = new HashMap<>();
+        stats.put("event", "eventQueueStats");
+        stats.put("dropped", droppedCount);
+        stats.put("coalesced", coalescedCount);
+        reportedDroppedCount = droppedCount;
+        reportedCoalescedCount = coalescedCount;
+      }
+    }
     maybeFlush();
+    if (stats != null) {
+      success(stats);
+    }
   }
 
   @Override
   public void endOfStream() {
-    enqueue(new EndOfStreamEvent());
+    synchronized (this) {
+      enqueue(new EndOfStreamEvent());
+      done = true;
+    }
     maybeFlush();
-    done = true;
   }
 
   @Override
   public void error(String code, String message, Object details) {
-    enqueue(new ErrorEvent(code, message, details));
+    synchronized (this) {
+      enqueue(new ErrorEvent(code, message, details));
+    }
     maybeFlush();
   }
 
   @Override
   public void success(Object event) {
-    enqueue(event);
+    synchronized (this) {
+      enqueue(event);
+    }
     maybeFlush();
   }
 
+  synchronized long getDroppedCount() {
+    return droppedCount;
+  }
+
+  synchronized long getCoalescedCount() {
+    return coalescedCount;
+  }
+
   private void enqueue(Object event) {
     if (done) {
       return;
     }
-    eventQueue.add(event);
+    String kind = coalescedKind(event);
+    if (kind != null) {
+      for (int i = 0; i < size; i++) {
+        if (kind.equals(coalescedKind(queue[(head + i) % queue.length]))) {
+          removeAt(i);
+          coalescedCount++;
+          break;
+        }
+      }
+    }
+    if (size >= capacity) {
+      int victim = -1;
+      for (int i = 0; i < size; i++) {
+        if (coalescedKind(queue[(head + i) % queue.length]) != null) {
+          victim = i;
+          break;
+        }
+      }
+      if (victim >= 0) {
+        removeAt(victim);
+        droppedCount++;
+      } else if (kind != null) {
+        droppedCount++;
+        return;
+      }
+    }
+    if (size == queue.length) {
+      grow();
+    }
+    queue[(head + size) % queue.length] = event;
+    size++;
+  }
+
+  /** Doubles the queue, only ever needed for lifecycle and error events past the capacity. */
+  private void grow() {
+    Object[] grown = new Object[queue.length * 2];
+    for (int i = 0; i < size; i++) {
+      grown[i] = queue[(head + i) % queue.length];
+    }
+    queue = grown;
+    head = 0;
+  }
+
+  /** Removes the {@code index}-th queued event, shifting the later ones down. */
+  private void removeAt(int index) {
+    for (int i = index; i < size - 1; i++) {
+      queue[(head + i) % queue.length] = queue[(head + i + 1) % queue.length];
+    }
+    queue[(head + size - 1) % queue.length] = null;
+    size--;
   }
 
+  private static String coalescedKind(Object event) {
+    if (!(event instanceof Map)) {
+      return null;
+    }
+    Object kind = ((Map<?, ?>) event).get("event");
+    for (String coalesced : COALESCED_EVENTS) {
+      if (coalesced.equals(kind)) {
+        return coalesced;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Delivers queued events one at a time without holding the lock while calling the delegate. Only
+   * one thread flushes at a time so that delivery stays in order.
+   */
   private void maybeFlush() {
-    if (delegate == null) {
-      return;
+    synchronized (this) {
+      if (flushing) {
+        return;
+      }
+      flushing = true;
     }
-    for (Object event : eventQueue) {
-      if (event instanceof EndOfStreamEvent) {
-        delegate.endOfStream();
-      } else if (event instanceof ErrorEvent) {
-        ErrorEvent errorEvent = (ErrorEvent) event;
-        delegate.error(errorEvent.code, errorEvent.message, errorEvent.details);
-      } else {
-        delegate.success(event);
+    while (true) {
+      Object event;
+      EventChannel.EventSink sink;
+      synchronized (this) {
+        if (delegate == null || size == 0) {
+          flushing = false;
+          return;
+        }
+        sink = delegate;
+        event = queue[head];
+        queue[head] = null;
+        head = (head + 1) % queue.length;
+        size--;
+      }
+      try {
+        if (event instanceof EndOfStreamEvent) {
+          sink.endOfStream();
+        } else if (event instanceof ErrorEvent) {
+          ErrorEvent errorEvent = (ErrorEvent) event;
+          sink.error(errorEvent.code, errorEvent.message, errorEvent.details);
+        } else {
+          sink.success(event);
+        }
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          flushing = false;
+        }
+        throw e;
       }
     }
-    eventQueue.clear();
   }
 
   private static class EndOfStreamEvent {}
@@ -0,0 +1,143 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import com.google.android.exoplayer2.RendererCapabilities;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.trackselection.MappingTrackSelector.MappedTrackInfo;
+import com.google.android.exoplayer2.ui.TrackNameProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the playable tracks of one type, built once each time the player's
+ * tracks change.
+ *
+ * <p>Track {@code i} is the {@code i}-th playable track in renderer, group and track order, which
+ * is the order of {@link #getNames()}. Looking a track up by index or by name doesn't walk the
+ * {@link MappedTrackInfo} again.
+ */
+final class TrackIndex {
+  static final TrackIndex EMPTY =
+      new TrackIndex(new int[0], new int[0], new int[0], new TrackGroupArray[0], new ArrayList<>());
+
+  private final int[] rendererIndices;
+  private final int[] groupIndices;
+  private final int[] trackIndices;
+  /** The track groups of each track's renderer, needed to build a selection override. */
+  private final TrackGroupArray[] rendererTrackGroups;
+
+  private final List<String> names;
+  private final Map<String, Integer> indexByName;
+
+  private TrackIndex(
+      int[] rendererIndices,
+      int[] groupIndices,
+      int[] trackIndices,
+      TrackGroupArray[] rendererTrackGroups,
+      ArrayList<String> names) {
+    this.rendererIndices = rendererIndices;
+    this.groupIndices = groupIndices;
+    this.trackIndices = trackIndices;
+    this.rendererTrackGroups = rendererTrackGroups;
+    this.names = Collections.unmodifiableList(names);
+    indexByName = new HashMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      // Tracks can share a name, the first one wins as it did with a linear search.
+      if (!indexByName.containsKey(names.get(i))) {
+        indexByName.put(names.get(i), i);
+      }
+    }
+  }
+
+  /** Indexes the tracks of {@code trackType} that the renderers can play. */
+  static TrackIndex build(
+      MappedTrackInfo mappedTrackInfo, int trackType, TrackNameProvider nameProvider) {
+    if (mappedTrackInfo == null) {
+      return EMPTY;
+    }
+    int count = 0;
+    for (int i = 0; i < mappedTrackInfo.getRendererCount(); i++) {
+      if (mappedTrackInfo.getRendererType(i) == trackType) {
+        TrackGroupArray trackGroups = mappedTrackInfo.getTrackGroups(i);
+        for (int j = 0; j < trackGroups.length; j++) {
+          count += trackGroups.get(j).length;
+        }
+      }
+    }
+    int[] rendererIndices = new int[count];
+    int[] groupIndices = new int[count];
+    int[] trackIndices = new int[count];
+    TrackGroupArray[] rendererTrackGroups = new TrackGroupArray[count];
+    ArrayList<String> names = new ArrayList<>(count);
+    int size = 0;
+    for (int i = 0; i < mappedTrackInfo.getRendererCount(); i++) {
+      if (mappedTrackInfo.getRendererType(i) != trackType) {
+        continue;
+      }
+      TrackGroupArray trackGroups = mappedTrackInfo.getTrackGroups(i);
+      for (int j = 0; j < trackGroups.length; j++) {
+        TrackGroup group = trackGroups.get(j);
+        for (int k = 0; k < group.length; k++) {
+          if ((mappedTrackInfo.getTrackSupport(i, j, k) & 0b111)
+              != RendererCapabilities.FORMAT_HANDLED) {
+            continue;
+          }
+          rendererIndices[size] = i;
+          groupIndices[size] = j;
+          trackIndices[size] = k;
+          rendererTrackGroups[size] = trackGroups;
+          names.add(nameProvider.getTrackName(group.getFormat(k)));
+          size++;
+        }
+      }
+    }
+    if (size < count) {
+      rendererIndices = Arrays.copyOf(rendererIndices, size);
+      groupIndices = Arrays.copyOf(groupIndices, size);
+      trackIndices = Arrays.copyOf(trackIndices, size);
+      rendererTrackGroups = Arrays.copyOf(rendererTrackGroups, size);
+    }
+    return new TrackIndex(rendererIndices, groupIndices, trackIndices, rendererTrackGroups, names);
+  }
+
+  int size() {
+    return names.size();
+  }
+
+  List<String> getNames() {
+    return names;
+  }
+
+  /** Returns the index of the first track called {@code name}, or -1. */
+  int indexOf(String name) {
+    Integer index = indexByName.get(name);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Makes {@code trackSelector} play track {@code index}. Returns false if there is no such track.
+   */
+  @SuppressWarnings("deprecation")
+  boolean select(DefaultTrackSelector trackSelector, int index) {
+    if (index < 0 || index >= size()) {
+      return false;
+    }
+    int rendererIndex = rendererIndices[index];
+    DefaultTrackSelector.ParametersBuilder builder = trackSelector.getParameters().buildUpon();
+    builder.clearSelectionOverrides(rendererIndex).setRendererDisabled(rendererIndex, false);
+    DefaultTrackSelector.SelectionOverride override =
+        new DefaultTrackSelector.SelectionOverride(groupIndices[index], trackIndices[index]);
+    builder.setSelectionOverride(rendererIndex, rendererTrackGroups[index], override);
+    trackSelector.setParameters(builder);
+    return true;
+  }
+}
@@ -0,0 +1,377 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import com.google.android.exoplayer2.DefaultRenderersFactory;
+import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.database.DatabaseProvider;
+import com.google.android.exoplayer2.offline.Download;
+import com.google.android.exoplayer2.offline.DownloadCursor;
+import com.google.android.exoplayer2.offline.DownloadHelper;
+import com.google.android.exoplayer2.offline.DownloadManager;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.NoOpCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import com.google.android.exoplayer2.util.MimeTypes;
+import io.flutter.Log;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Downloads media for offline playback into a store of its own, apart from {@link
+ * VideoPlayerCache}, whose contents are never evicted.
+ *
+ * <p>Downloads are keyed by URI and run on an {@link DownloadManager}. Segments of adaptive media
+ * are fetched in parallel on a small pool. The download index lives in the app's database, so
+ * unfinished downloads resume once the store is next opened, by a download call or by playing
+ * anything after a download was made. {@link VideoPlayer#setData} plays downloaded media from the
+ * store, falling back to the network for parts not downloaded yet.
+ *
+ * <p>The index is read once, off the main thread, and then kept in memory from the download
+ * manager's callbacks, so looking up a download never touches the database. Until the index has
+ * been read, shortly after the store was opened, downloaded media plays from the network.
+ *
+ * <p>Paused downloads can be resumed by starting them again. Once the store holds {@link
+ * #setMaxBytes(long)} bytes, all downloads stop and new ones are refused. A single process-wide
+ * instance is kept, since a {@link SimpleCache} may only be opened once per directory.
+ */
+final class VideoDownloads implements DownloadManager.Listener {
+  static final String STATE_QUEUED = "queued";
+  static final String STATE_DOWNLOADING = "downloading";
+  static final String STATE_PAUSED = "paused";
+  static final String STATE_COMPLETED = "completed";
+  static final String STATE_FAILED = "failed";
+  static final String STATE_REMOVING = "removing";
+
+  private static final String TAG = "VideoDownloads";
+  private static final String DOWNLOAD_DIR = "video_player_downloads";
+  private static final int STOP_REASON_PAUSED = 1;
+  private static final int MAX_PARALLEL_DOWNLOADS = 2;
+  private static final int SEGMENT_THREAD_COUNT = 4;
+  /** How often the quota is checked while downloads are running. */
+  private static final long QUOTA_CHECK_INTERVAL_MS = 1000;
+
+  private static VideoDownloads instance;
+
+  private final Context context;
+  private final SimpleCache cache;
+  private final DataSource.Factory upstreamFactory;
+  private final ExecutorService executor;
+  private final DownloadManager downloadManager;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable quotaChecker = this::checkQuota;
+  // Only used on the main thread. Until the index is read, downloads removed meanwhile map to null.
+  private final Map<String, Download> downloads = new HashMap<>();
+  private boolean indexLoaded;
+  private long maxBytes;
+  private boolean quotaExceeded;
+
+  /**
+   * Opens a store in {@code directory} whose downloads are fetched through {@code
+   * upstreamFactory}, keeping its index in {@code databaseProvider}. Must be called on the main
+   * thread.
+   */
+  VideoDownloads(
+      Context context,
+      File directory,
+      DatabaseProvider databaseProvider,
+      DataSource.Factory upstreamFactory) {
+    this.context = context;
+    this.upstreamFactory = upstreamFactory;
+    cache = new SimpleCache(directory, new NoOpCacheEvictor(), databaseProvider);
+    executor =
+        Executors.newFixedThreadPool(
+            SEGMENT_THREAD_COUNT,
+            runnable -> {
+              Thread thread = new Thread(runnable, TAG);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+    downloadManager =
+        new DownloadManager(context, databaseProvider, cache, upstreamFactory, executor);
+    downloadManager.setMaxParallelDownloads(MAX_PARALLEL_DOWNLOADS);
+    downloadManager.addListener(this);
+    downloadManager.resumeDownloads();
+    executor.execute(this::loadIndex);
+  }
+
+  static synchronized VideoDownloads getInstance(Context context) {
+    if (instance == null) {
+      Context applicationContext = context.getApplicationContext();
+      instance =
+          new VideoDownloads(
+              applicationContext,
+              getDirectory(applicationContext),
+              VideoPlayerCache.getDatabaseProvider(applicationContext),
+              HttpStack.getInstance().createFactory(null, null));
+    }
+    return instance;
+  }
+
+  /** Returns the store if it is open or anything was ever downloaded, null otherwise. */
+  static synchronized VideoDownloads peek(Context context) {
+    if (instance == null && !getDirectory(context).exists()) {
+      return null;
+    }
+    return getInstance(context);
+  }
+
+  private static File getDirectory(Context context) {
+    return new File(context.getFilesDir(), DOWNLOAD_DIR);
+  }
+
+  /**
+   * Stops all downloads and closes the store, which can't be used afterwards. The process-wide
+   * instance stays open for the life of the process.
+   */
+  void release() {
+    handler.removeCallbacks(quotaChecker);
+    downloadManager.release();
+    executor.shutdownNow();
+    cache.release();
+  }
+
+  /** Sets the most bytes the store may hold, 0 for no limit. */
+  void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    checkQuota();
+  }
+
+  long getMaxBytes() {
+    return maxBytes;
+  }
+
+  long getUsedBytes() {
+    return cache.getCacheSpace();
+  }
+
+  /**
+   * Starts downloading {@code uri}, or resumes its download if there is one. Adaptive media is
+   * prepared first to select the renditions to download: those the player would pick on this
+   * device, below {@code maxBitrate} if that is positive.
+   */
+  void start(String uri, String formatHint, int maxBitrate) {
+    if (isQuotaExceeded()) {
+      throw new IllegalStateException("Download quota of " + maxBytes + " bytes is used up");
+    }
+    Download download = getDownload(uri);
+    if (download != null && download.state != Download.STATE_REMOVING) {
+      downloadManager.setStopReason(uri, Download.STOP_REASON_NONE);
+      return;
+    }
+    MediaItem mediaItem =
+        new MediaItem.Builder().setUri(Uri.parse(uri)).setMimeType(toMimeType(formatHint)).build();
+    DefaultTrackSelector.ParametersBuilder parameters =
+        DownloadHelper.getDefaultTrackSelectorParameters(context).buildUpon();
+    if (maxBitrate > 0) {
+      parameters.setMaxVideoBitrate(maxBitrate);
+    }
+    DownloadHelper helper =
+        DownloadHelper.forMediaItem(
+            mediaItem,
+            parameters.build(),
+            new DefaultRenderersFactory(context),
+            upstreamFactory);
+    helper.prepare(
+        new DownloadHelper.Callback() {
+          @Override
+          public void onPrepared(DownloadHelper helper) {
+            downloadManager.addDownload(helper.getDownloadRequest(uri, /* data= */ null));
+            helper.release();
+          }
+
+          @Override
+          public void onPrepareError(DownloadHelper helper, IOException e) {
+            Log.w(TAG, "Failed to prepare the download of " + uri, e);
+            helper.release();
+          }
+        });
+  }
+
+  /** Stops downloading {@code uri}, keeping what was downloaded so far. */
+  void pause(String uri) {
+    downloadManager.setStopReason(uri, STOP_REASON_PAUSED);
+  }
+
+  /** Stops downloading {@code uri} and deletes its downloaded data. */
+  void remove(String uri) {
+    downloadManager.removeDownload(uri);
+  }
+
+  /** Returns the state and progress of every download. */
+  List<Object> getDownloads() {
+    Map<String, Download> current = new HashMap<>();
+    for (Map.Entry<String, Download> entry : downloads.entrySet()) {
+      if (entry.getValue() != null) {
+        current.put(entry.getKey(), entry.getValue());
+      }
+    }
+    // Changes are only reported on state changes, running downloads have fresher progress.
+    for (Download download : downloadManager.getCurrentDownloads()) {
+      current.put(download.request.id, download);
+    }
+    List<Object> result = new ArrayList<>();
+    for (Download download : current.values()) {
+      result.add(toMap(download));
+    }
+    return result;
+  }
+
+  /**
+   * Returns a source playing {@code uri} from the store, reading parts not downloaded yet through
+   * {@code upstreamFactory}, or null if {@code uri} was not downloaded.
+   */
+  MediaSource createMediaSource(String uri, DataSource.Factory upstreamFactory) {
+    Download download = getDownload(uri);
+    if (download == null
+        || download.state == Download.STATE_REMOVING
+        || download.state == Download.STATE_FAILED) {
+      return null;
+    }
+    CacheDataSource.Factory dataSourceFactory =
+        new CacheDataSource.Factory()
+            .setCache(cache)
+            .setUpstreamDataSourceFactory(upstreamFactory)
+            // Playback must not write into the store, only downloads count against the quota.
+            .setCacheWriteDataSinkFactory(null);
+    return DownloadHelper.createMediaSource(download.request, dataSourceFactory);
+  }
+
+  @Override
+  public void onDownloadChanged(
+      DownloadManager downloadManager, Download download, Exception finalException) {
+    if (finalException != null) {
+      Log.w(TAG, "Download of " + download.request.uri + " failed", finalException);
+    }
+    downloads.put(download.request.id, download);
+    checkQuota();
+  }
+
+  @Override
+  public void onDownloadRemoved(DownloadManager downloadManager, Download download) {
+    if (indexLoaded) {
+      downloads.remove(download.request.id);
+    } else {
+      downloads.put(download.request.id, null);
+    }
+    checkQuota();
+  }
+
+  private Download getDownload(String uri) {
+    return downloads.get(uri);
+  }
+
+  /** Reads the download index on the executor and merges it in on the main thread. */
+  private void loadIndex() {
+    List<Download> loaded = new ArrayList<>();
+    try {
+      DownloadCursor cursor = downloadManager.getDownloadIndex().getDownloads();
+      try {
+        while (cursor.moveToNext()) {
+          loaded.add(cursor.getDownload());
+        }
+      } finally {
+        cursor.close();
+      }
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to read the download index", e);
+    }
+    handler.post(
+        () -> {
+          // Changes reported while the index was read are newer than what was read.
+          for (Download download : loaded) {
+            if (!downloads.containsKey(download.request.id)) {
+              downloads.put(download.request.id, download);
+            }
+          }
+          downloads.values().removeAll(Collections.singleton(null));
+          indexLoaded = true;
+        });
+  }
+
+  private boolean isQuotaExceeded() {
+    return maxBytes > 0 && cache.getCacheSpace() >= maxBytes;
+  }
+
+  /**
+   * Stops all downloads once the quota is used up and resumes them once there is room again.
+   * Checks periodically while downloads are running, since progress isn't reported.
+   */
+  private void checkQuota() {
+    handler.removeCallbacks(quotaChecker);
+    boolean exceeded = isQuotaExceeded();
+    if (exceeded != quotaExceeded) {
+      quotaExceeded = exceeded;
+      if (exceeded) {
+        Log.w(TAG, "Download quota of " + maxBytes + " bytes is used up, pausing downloads");
+        downloadManager.pauseDownloads();
+      } else {
+        downloadManager.resumeDownloads();
+      }
+    }
+    if (!downloadManager.getCurrentDownloads().isEmpty()) {
+      handler.postDelayed(quotaChecker, QUOTA_CHECK_INTERVAL_MS);
+    }
+  }
+
+  private static Map<String, Object> toMap(Download download) {
+    Map<String, Object> result = new HashMap<>();
+    result.put("uri", download.request.id);
+    result.put("state", toState(download));
+    result.put("bytesDownloaded", download.getBytesDownloaded());
+    result.put("contentLength", download.contentLength);
+    result.put("percentDownloaded", (double) download.getPercentDownloaded());
+    return result;
+  }
+
+  private static String toState(Download download) {
+    switch (download.state) {
+      case Download.STATE_DOWNLOADING:
+        return STATE_DOWNLOADING;
+      case Download.STATE_STOPPED:
+        return STATE_PAUSED;
+      case Download.STATE_COMPLETED:
+        return STATE_COMPLETED;
+      case Download.STATE_FAILED:
+        return STATE_FAILED;
+      case Download.STATE_REMOVING:
+      case Download.STATE_RESTARTING:
+        return STATE_REMOVING;
+      case Download.STATE_QUEUED:
+      default:
+        return STATE_QUEUED;
+    }
+  }
+
+  private static String toMimeType(String formatHint) {
+    if (formatHint == null) {
+      return null;
+    }
+    switch (formatHint) {
+      case "hls":
+        return MimeTypes.APPLICATION_M3U8;
+      case "dash":
+        return MimeTypes.APPLICATION_MPD;
+      case "ss":
+        return MimeTypes.APPLICATION_SS;
+      default:
+        return null;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Builds the maps sent to Dart on a player's event channel. */
+final class VideoEvents {
+  private VideoEvents() {}
+
+  static Map<String, Object> bufferingUpdate(long bufferedPosition) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "bufferingUpdate");
+    List<? extends Number> range = Arrays.asList(0, bufferedPosition);
+    // iOS supports a list of buffered ranges, so here is a list with a single range.
+    event.put("values", Collections.singletonList(range));
+    return event;
+  }
+
+  /** An initialized event for media without video. */
+  static Map<String, Object> initialized(long duration) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "initialized");
+    event.put("duration", duration);
+    return event;
+  }
+
+  static Map<String, Object> initialized(
+      long duration, int width, int height, int rotationDegrees) {
+    Map<String, Object> event = initialized(duration);
+    // Switch the width/height if video was taken in portrait mode
+    if (rotationDegrees == 90 || rotationDegrees == 270) {
+      event.put("width", height);
+      event.put("height", width);
+    } else {
+      event.put("width", width);
+      event.put("height", height);
+    }
+    return event;
+  }
+}
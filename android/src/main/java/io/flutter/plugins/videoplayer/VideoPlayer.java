@@ -9,10 +9,18 @@ import static com.google.android.exoplayer2.Player.REPEAT_MODE_OFF;
 
 import android.content.Context;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Gravity;
 import android.view.Surface;
 
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
 import android.view.TextureView;
 import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
 import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.ExoPlaybackException;
 import com.google.android.exoplayer2.Format;
@@ -20,13 +28,12 @@ import com.google.android.exoplayer2.MediaItem;
 import com.google.android.exoplayer2.PlaybackParameters;
 import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.Player.Listener;
-import com.google.android.exoplayer2.RendererCapabilities;
+import com.google.android.exoplayer2.SeekParameters;
 import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
 import com.google.android.exoplayer2.audio.AudioAttributes;
-import com.google.android.exoplayer2.ext.ffmpeg.FfmpegLibrary;
 import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.source.ProgressiveMediaSource;
-import com.google.android.exoplayer2.source.TrackGroup;
 import com.google.android.exoplayer2.source.TrackGroupArray;
 import com.google.android.exoplayer2.source.dash.DashMediaSource;
 import com.google.android.exoplayer2.source.dash.DefaultDashChunkSource;
@@ -37,99 +44,482 @@ import com.google.android.exoplayer2.text.Cue;
 import com.google.android.exoplayer2.text.TextOutput;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.google.android.exoplayer2.trackselection.MappingTrackSelector;
+import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
+import com.google.android.exoplayer2.ui.AspectRatioFrameLayout;
 import com.google.android.exoplayer2.ui.DefaultTrackNameProvider;
 import com.google.android.exoplayer2.ui.PlayerView;
 import com.google.android.exoplayer2.ui.SubtitleView;
 import com.google.android.exoplayer2.ui.TrackNameProvider;
 import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
 import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
-import com.google.android.exoplayer2.upstream.DefaultHttpDataSource;
-import com.google.android.exoplayer2.util.Log;
+import com.google.android.exoplayer2.upstream.HttpDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
 import com.google.android.exoplayer2.util.Util;
+import com.google.android.exoplayer2.video.VideoSize;
+import io.flutter.Log;
 import io.flutter.plugin.platform.PlatformView;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.view.TextureRegistry;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
-import com.google.android.exoplayer2.DefaultRenderersFactory;
 import java.util.logging.Logger;
 
 @SuppressWarnings("deprecation")
 final class VideoPlayer implements PlatformView {
 
+  private static final String TAG = "VideoPlayer";
   private static final String FORMAT_SS = "ss";
   private static final String FORMAT_DASH = "dash";
   private static final String FORMAT_HLS = "hls";
   private static final String FORMAT_OTHER = "other";
-  final PlayerView playerView;
+  /** How long the platform thread waits for an answer from a player on a background thread. */
+  private static final long PLAYER_CALL_TIMEOUT_MS = 500;
+  /** Output buffers assumed per video decoder when estimating its memory. */
+  private static final int DECODER_BUFFER_COUNT = 8;
+  /** How often the live offset is checked and reported while a live stream plays. */
+  private static final long LIVE_MONITOR_INTERVAL_MS = 1000;
+
+  /** A playback position together with when it was read and how fast it was advancing. */
+  private static final class PositionSample {
+    static final PositionSample ZERO = new PositionSample(0, 0, 0f);
+
+    final long positionMs;
+    final long elapsedRealtimeMs;
+    /** Playback speed at the time, 0 while the position wasn't advancing. */
+    final float speed;
+
+    PositionSample(long positionMs, long elapsedRealtimeMs, float speed) {
+      this.positionMs = positionMs;
+      this.elapsedRealtimeMs = elapsedRealtimeMs;
+      this.speed = speed;
+    }
+  }
+
+  /** A media item of a playlist, resolved to a data source the way {@link #setData} takes it. */
+  static final class PlaylistItem {
+    final String dataSource;
+    final String formatHint;
+    final Map<String, String> httpHeaders;
+
+    PlaylistItem(String dataSource, String formatHint, Map<String, String> httpHeaders) {
+      this.dataSource = dataSource;
+      this.formatHint = formatHint;
+      this.httpHeaders = httpHeaders;
+    }
+  }
 
+  /** Root of the platform view, null in texture mode. */
+  private final View view;
+  /** Texture the video is rendered into in texture mode, null for a platform view. */
+  private final TextureRegistry.SurfaceTextureEntry textureEntry;
+  private final Surface textureSurface;
+  /**
+   * Only used for players on the main looper, {@link PlayerView} can't drive a player on another
+   * thread. Background players render into a {@link SurfaceView} inside {@link #contentFrame}.
+   */
+  private final PlayerView playerView;
+  private AspectRatioFrameLayout contentFrame;
+  private SubtitleView subtitleView;
+
+  /**
+   * Built on the first {@link #setData}, together with {@link #poolEntry} and {@link
+   * #trackSelector}. Until then, player calls are recorded in {@link #pendingCommands}.
+   */
   private SimpleExoPlayer exoPlayer;
 
 
   private QueuingEventSink eventSink = new QueuingEventSink();
 
   private final EventChannel eventChannel;
-
-  private boolean isInitialized = false;
+  private final CompactEventChannel compactEventChannel;
+
+  private volatile boolean isInitialized = false;
+  private volatile boolean isPlaying;
+  private volatile boolean decodersReleased;
+  /** Only used on the player thread. */
+  private boolean audioOnly;
+  private volatile long lastUsedTimeMs = SystemClock.elapsedRealtime();
+  private volatile int videoWidth;
+  private volatile int videoHeight;
+  private boolean disposed = false;
   DefaultTrackSelector trackSelector;
   private VideoPlayerOptions options;
   private Context context;
+  private final ExoPlayerPool playerPool;
+  private final int threadMode;
+  private ExoPlayerPool.Entry poolEntry;
+  /** Player calls made before the player was built, replayed in order once it is. */
+  private final List<Runnable> pendingCommands = new ArrayList<>();
+  /**
+   * Video track constraints, only used on the platform thread. The viewport follows the view's
+   * size unless set explicitly, and falls back to the display's size while neither is known.
+   */
+  private int viewWidth;
+  private int viewHeight;
+  private int viewportWidth;
+  private int viewportHeight;
+  private int maxVideoWidth = Integer.MAX_VALUE;
+  private int maxVideoHeight = Integer.MAX_VALUE;
+  private int maxVideoBitrate = Integer.MAX_VALUE;
+  /** Surface of the platform view's {@link SurfaceView} while it exists. */
+  private Surface viewSurface;
+  private final Handler platformHandler = new Handler(Looper.getMainLooper());
+  private Listener playerListener;
+  private TextOutput textOutput;
+  private volatile long progressIntervalMs;
+  private final TrackNameProvider trackNameProvider;
+  /** Only written on the player thread, read from any thread. */
+  private volatile TrackIndex audioTracks = TrackIndex.EMPTY;
+  private volatile TrackIndex subtitleTracks = TrackIndex.EMPTY;
+  private TrackGroupArray indexedTrackGroups;
+  private final Runnable progressUpdater = this::sendProgress;
+  /** Written on the player thread, read by {@link #getPosition()} on any thread. */
+  private volatile PositionSample positionSample = PositionSample.ZERO;
+  /** Set by {@link #setData}, applies to its source and to later playlist items. */
+  private volatile LiveConfiguration liveConfiguration;
+  private final Runnable liveMonitor = this::checkLiveOffset;
+  /** Only used on the player thread. */
+  private int liveHardSeekCount;
+  /**
+   * Speed last set through {@link #setPlaybackSpeed}, only used on the player thread. The speed the
+   * player reports can differ while live catch-up adjusts it.
+   */
+  private float requestedSpeed = 1f;
+
+  private final AtomicLong cacheHitBytes = new AtomicLong();
+  private final AtomicLong cacheMissBytes = new AtomicLong();
+
+  private final CacheDataSource.EventListener cacheHitListener =
+      new CacheDataSource.EventListener() {
+        @Override
+        public void onCachedBytesRead(long cacheSizeBytes, long cachedBytesRead) {
+          cacheHitBytes.addAndGet(cachedBytesRead);
+          metrics.markBytesTransferred();
+        }
+
+        @Override
+        public void onCacheIgnored(int reason) {}
+      };
+
+  private final PlaybackMetrics metrics = new PlaybackMetrics(this::onMetricsUpdated);
+  private volatile boolean metricsEventsEnabled;
+  private final AnalyticsListener decoderRecorder;
+
+  private final TransferListener transferListener =
+      new TransferListener() {
+        @Override
+        public void onTransferInitializing(
+            DataSource source, DataSpec dataSpec, boolean isNetwork) {}
+
+        @Override
+        public void onTransferStart(DataSource source, DataSpec dataSpec, boolean isNetwork) {}
+
+        @Override
+        public void onBytesTransferred(
+            DataSource source, DataSpec dataSpec, boolean isNetwork, int bytesTransferred) {
+          metrics.markBytesTransferred();
+          if (isNetwork) {
+            cacheMissBytes.addAndGet(bytesTransferred);
+          }
+        }
+
+        @Override
+        public void onTransferEnd(DataSource source, DataSpec dataSpec, boolean isNetwork) {}
+      };
 
   VideoPlayer(
       Context context,
-      EventChannel eventChannel
+      EventChannel eventChannel,
+      CompactEventChannel compactEventChannel,
+      ExoPlayerPool playerPool,
+      int threadMode,
+      TextureRegistry.SurfaceTextureEntry textureEntry
       ) {
     this.eventChannel = eventChannel;
+    this.compactEventChannel = compactEventChannel;
+    trackNameProvider = new DefaultTrackNameProvider(context.getResources());
+    decoderRecorder = DecoderTable.getInstance(context).newRecorder();
     this.context = context;
-    trackSelector = new DefaultTrackSelector(context);
-    DefaultRenderersFactory defaultRenderersFactory = new DefaultRenderersFactory(context);
-    defaultRenderersFactory
-        .setExtensionRendererMode(DefaultRenderersFactory.EXTENSION_RENDERER_MODE_ON);
-    playerView = new PlayerView(context);
-    playerView.setUseController(false);
-    playerView.forceLayout();
-    playerView.setFitsSystemWindows(true);
-    exoPlayer = new SimpleExoPlayer.Builder(context, defaultRenderersFactory)
-        .setTrackSelector(trackSelector).build();
+    this.playerPool = playerPool;
+    this.threadMode = playerPool.resolveThreadMode(threadMode);
+    this.textureEntry = textureEntry;
+    if (textureEntry != null) {
+      // Flutter composites the texture itself, there is no view to lay out.
+      playerView = null;
+      view = null;
+      textureSurface = new Surface(textureEntry.surfaceTexture());
+    } else if (this.threadMode == ExoPlayerPool.THREAD_MAIN) {
+      textureSurface = null;
+      playerView = new PlayerView(context);
+      playerView.setUseController(false);
+      playerView.forceLayout();
+      playerView.setFitsSystemWindows(true);
+      view = playerView;
+    } else {
+      textureSurface = null;
+      playerView = null;
+      view = buildSurfaceLayout(context);
+    }
+    if (view != null) {
+      view.addOnLayoutChangeListener(
+          (v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> {
+            if (disposed || (right - left == viewWidth && bottom - top == viewHeight)) {
+              return;
+            }
+            viewWidth = right - left;
+            viewHeight = bottom - top;
+            applyVideoConstraints();
+          });
+    }
     setupVideoPlayer(eventChannel);
 
 
   }
+
+  private View buildSurfaceLayout(Context context) {
+    FrameLayout root = new FrameLayout(context);
+    root.setFitsSystemWindows(true);
+    contentFrame = new AspectRatioFrameLayout(context);
+    SurfaceView surfaceView = new SurfaceView(context);
+    surfaceView
+        .getHolder()
+        .addCallback(
+            new SurfaceHolder.Callback() {
+              @Override
+              public void surfaceCreated(SurfaceHolder holder) {
+                Surface surface = holder.getSurface();
+                viewSurface = surface;
+                if (!disposed && poolEntry != null) {
+                  runOnPlayerThread(() -> exoPlayer.setVideoSurface(surface));
+                }
+              }
+
+              @Override
+              public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {}
+
+              @Override
+              public void surfaceDestroyed(SurfaceHolder holder) {
+                Surface surface = holder.getSurface();
+                viewSurface = null;
+                if (poolEntry == null) {
+                  return;
+                }
+                // The surface is gone once this returns, so wait for the player to let go of it.
+                // This only clears the surface if it is still the current one, which keeps it
+                // safe after the player went back to the pool.
+                awaitOnPlayerThread(() -> exoPlayer.clearVideoSurface(surface));
+              }
+            });
+    contentFrame.addView(
+        surfaceView,
+        new FrameLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+    root.addView(
+        contentFrame,
+        new FrameLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            Gravity.CENTER));
+    subtitleView = new SubtitleView(context);
+    root.addView(
+        subtitleView,
+        new FrameLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+    return root;
+  }
+
+  /**
+   * Runs {@code runnable} on the player's application thread, in call order. Before the player is
+   * built the call is recorded instead. Must be called on the platform thread until then.
+   */
+  private void runOnPlayerThread(Runnable runnable) {
+    if (poolEntry == null) {
+      pendingCommands.add(runnable);
+    } else {
+      poolEntry.run(runnable);
+    }
+  }
+
+  /** Builds the player on first use and replays the calls recorded until then. */
+  private void ensurePlayer() {
+    if (poolEntry != null) {
+      return;
+    }
+    poolEntry = playerPool.acquire(threadMode);
+    trackSelector = poolEntry.trackSelector;
+    exoPlayer = poolEntry.exoPlayer;
+    if (playerView != null) {
+      playerView.setPlayer(exoPlayer);
+    }
+    Surface surface = textureSurface != null ? textureSurface : viewSurface;
+    if (surface != null) {
+      poolEntry.run(() -> exoPlayer.setVideoSurface(surface));
+    }
+    applyVideoConstraints();
+    for (Runnable command : pendingCommands) {
+      poolEntry.run(command);
+    }
+    pendingCommands.clear();
+  }
+
+  /**
+   * Runs {@code runnable} on the player's application thread and waits for it to finish. This
+   * never throws: it is meant for view callbacks, where an exception would crash the app. A call
+   * that times out is logged and still runs later.
+   */
+  private void awaitOnPlayerThread(Runnable runnable) {
+    FutureTask<Void> task = new FutureTask<>(runnable, null);
+    poolEntry.run(task);
+    try {
+      task.get(PLAYER_CALL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      Log.w(TAG, "Interrupted while waiting for the playback thread");
+    } catch (ExecutionException | TimeoutException e) {
+      Log.w(TAG, "Call to the playback thread failed", e);
+    }
+  }
+
+  /** Sends {@code event} to Dart. May be called from any thread. */
+  private void sendEvent(Object event) {
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      eventSink.success(event);
+    } else {
+      platformHandler.post(() -> eventSink.success(event));
+    }
+  }
+
+  private void sendError(String code, String message) {
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      eventSink.error(code, message, null);
+    } else {
+      platformHandler.post(() -> eventSink.error(code, message, null));
+    }
+  }
+
   public void setData(String dataSource,
       String formatHint,
       Map<String, String> httpHeaders,
+      BufferProfile bufferProfile,
+      LiveConfiguration liveConfiguration,
       VideoPlayerOptions options){
-    Uri uri = Uri.parse(dataSource);
     this.options = options;
-    boolean ffmpegAvailable = FfmpegLibrary.isAvailable();
-    Log.i("isAvailable", String.valueOf(ffmpegAvailable));
+    this.liveConfiguration = liveConfiguration;
+    metrics.markSetData();
+    lastUsedTimeMs = SystemClock.elapsedRealtime();
+    ensurePlayer();
+    MediaSource mediaSource = createMediaSource(dataSource, formatHint, httpHeaders);
+    runOnPlayerThread(
+        () -> {
+          poolEntry.loadControl.setProfile(bufferProfile);
+          decodersReleased = false;
+          exoPlayer.setMediaSource(mediaSource);
+          exoPlayer.prepare();
+          setAudioAttributes(exoPlayer, options.mixWithOthers);
+        });
+
+
+  }
+
+  /**
+   * Inserts {@code items} into the playlist at {@code index}, or appends them if {@code index} is
+   * out of range. The player prepares if it has nothing to play yet. While an item plays, the next
+   * one is buffered ahead on the same player, decoders and surface, so transitions are gapless.
+   */
+  void addPlaylistItems(int index, List<PlaylistItem> items, VideoPlayerOptions options) {
+    if (this.options == null) {
+      this.options = options;
+    }
+    lastUsedTimeMs = SystemClock.elapsedRealtime();
+    ensurePlayer();
+    List<MediaSource> mediaSources = new ArrayList<>(items.size());
+    for (PlaylistItem item : items) {
+      mediaSources.add(createMediaSource(item.dataSource, item.formatHint, item.httpHeaders));
+    }
+    VideoPlayerOptions playerOptions = this.options;
+    runOnPlayerThread(
+        () -> {
+          if (index >= 0 && index <= exoPlayer.getMediaItemCount()) {
+            exoPlayer.addMediaSources(index, mediaSources);
+          } else {
+            exoPlayer.addMediaSources(mediaSources);
+          }
+          if (exoPlayer.getPlaybackState() == Player.STATE_IDLE) {
+            decodersReleased = false;
+            exoPlayer.prepare();
+            setAudioAttributes(exoPlayer, playerOptions.mixWithOthers);
+          }
+        });
+  }
+
+  /** Removes the playlist items from {@code fromIndex} inclusive to {@code toIndex} exclusive. */
+  void removePlaylistItems(int fromIndex, int toIndex) {
+    runOnPlayerThread(
+        () -> {
+          int count = exoPlayer.getMediaItemCount();
+          int from = Math.max(0, Math.min(fromIndex, count));
+          int to = Math.max(from, Math.min(toIndex, count));
+          exoPlayer.removeMediaItems(from, to);
+        });
+  }
+
+  void movePlaylistItem(int fromIndex, int toIndex) {
+    runOnPlayerThread(
+        () -> {
+          int count = exoPlayer.getMediaItemCount();
+          if (fromIndex >= 0 && fromIndex < count && toIndex >= 0 && toIndex < count) {
+            exoPlayer.moveMediaItem(fromIndex, toIndex);
+          }
+        });
+  }
+
+  /** Jumps to {@code positionMs} in playlist item {@code index}. */
+  void seekToPlaylistItem(int index, long positionMs) {
+    lastUsedTimeMs = SystemClock.elapsedRealtime();
+    runOnPlayerThread(
+        () -> {
+          if (index >= 0 && index < exoPlayer.getMediaItemCount()) {
+            exoPlayer.seekTo(index, positionMs);
+          }
+        });
+  }
+
+  private MediaSource createMediaSource(
+      String dataSource, String formatHint, Map<String, String> httpHeaders) {
+    Uri uri = Uri.parse(dataSource);
     DataSource.Factory dataSourceFactory;
     if (isHTTP(uri)) {
-      DefaultHttpDataSource.Factory httpDataSourceFactory =
-          new DefaultHttpDataSource.Factory()
-              .setUserAgent("ExoPlayer")
-              .setAllowCrossProtocolRedirects(true);
-
-      if (httpHeaders != null && !httpHeaders.isEmpty()) {
-        httpDataSourceFactory.setDefaultRequestProperties(httpHeaders);
+      HttpDataSource.Factory httpDataSourceFactory =
+          HttpStack.getInstance().createFactory(httpHeaders, transferListener);
+      VideoDownloads downloads = VideoDownloads.peek(context);
+      MediaSource downloaded =
+          downloads == null ? null : downloads.createMediaSource(dataSource, httpDataSourceFactory);
+      if (downloaded != null) {
+        return downloaded;
+      }
+      if (options.maxCacheBytes > 0) {
+        dataSourceFactory =
+            VideoPlayerCache.getInstance(context, options.maxCacheBytes)
+                .wrap(httpDataSourceFactory, cacheHitListener);
+      } else {
+        dataSourceFactory = httpDataSourceFactory;
       }
-      dataSourceFactory = httpDataSourceFactory;
     } else {
-      dataSourceFactory = new DefaultDataSourceFactory(context, "ExoPlayer");
+      dataSourceFactory = new DefaultDataSourceFactory(context, "ExoPlayer", transferListener);
     }
 
-    MediaSource mediaSource = buildMediaSource(uri, dataSourceFactory, formatHint, context);
-    exoPlayer.setMediaSource(mediaSource);
-    exoPlayer.prepare();
-    setAudioAttributes(exoPlayer, options.mixWithOthers);
-
-
+    return buildMediaSource(uri, dataSourceFactory, formatHint, context);
   }
 
   private static boolean isHTTP(Uri uri) {
@@ -142,6 +532,11 @@ final class VideoPlayer implements PlatformView {
 
   private MediaSource buildMediaSource(
       Uri uri, DataSource.Factory mediaDataSourceFactory, String formatHint, Context context) {
+    MediaItem.Builder mediaItemBuilder = new MediaItem.Builder().setUri(uri);
+    if (liveConfiguration != null) {
+      liveConfiguration.applyTo(mediaItemBuilder);
+    }
+    MediaItem mediaItem = mediaItemBuilder.build();
     int type;
     if (formatHint == null) {
       type = Util.inferContentType(uri.getLastPathSegment());
@@ -169,18 +564,18 @@ final class VideoPlayer implements PlatformView {
         return new SsMediaSource.Factory(
             new DefaultSsChunkSource.Factory(mediaDataSourceFactory),
             new DefaultDataSourceFactory(context, null, mediaDataSourceFactory))
-            .createMediaSource(MediaItem.fromUri(uri));
+            .createMediaSource(mediaItem);
       case C.TYPE_DASH:
         return new DashMediaSource.Factory(
             new DefaultDashChunkSource.Factory(mediaDataSourceFactory),
             new DefaultDataSourceFactory(context, null, mediaDataSourceFactory))
-            .createMediaSource(MediaItem.fromUri(uri));
+            .createMediaSource(mediaItem);
       case C.TYPE_HLS:
         return new HlsMediaSource.Factory(mediaDataSourceFactory)
-            .createMediaSource(MediaItem.fromUri(uri));
+            .createMediaSource(mediaItem);
       case C.TYPE_OTHER:
         return new ProgressiveMediaSource.Factory(mediaDataSourceFactory)
-            .createMediaSource(MediaItem.fromUri(uri));
+            .createMediaSource(mediaItem);
       default: {
         throw new IllegalStateException("Unsupported type: " + type);
       }
@@ -202,17 +597,21 @@ final class VideoPlayer implements PlatformView {
           }
         });
 
-    playerView.setPlayer(exoPlayer);
-    SubtitleView subtitleView = new SubtitleView(context);
-
-    exoPlayer.addTextOutput(new TextOutput() {
-      @Override
-      public void onCues(List<Cue> cues) {
+    if (playerView != null) {
+      // PlayerView renders the video and subtitles itself, it gets the player once it is built.
+    } else if (textureEntry != null) {
+      // Nothing draws subtitles over a texture, so they go to Dart.
+      textOutput = this::sendCues;
+    } else {
+      textOutput = new TextOutput() {
+        @Override
+        public void onCues(List<Cue> cues) {
 
-        subtitleView.setCues(cues);
-      }
-    });
-    exoPlayer.addListener(
+          platformHandler.post(() -> subtitleView.setCues(cues));
+        }
+      };
+    }
+    playerListener =
         new Listener() {
           private boolean isBuffering = false;
 
@@ -221,7 +620,7 @@ final class VideoPlayer implements PlatformView {
               isBuffering = buffering;
               Map<String, Object> event = new HashMap<>();
               event.put("event", isBuffering ? "bufferingStart" : "bufferingEnd");
-              eventSink.success(event);
+              sendEvent(event);
             }
           }
 
@@ -235,351 +634,601 @@ final class VideoPlayer implements PlatformView {
                 isInitialized = true;
                 sendInitialized();
               }
+              sendCacheStats();
             } else if (playbackState == Player.STATE_ENDED) {
               Map<String, Object> event = new HashMap<>();
               event.put("event", "completed");
-              eventSink.success(event);
+              sendEvent(event);
+              sendCacheStats();
             }
 
             if (playbackState != Player.STATE_BUFFERING) {
               setBuffering(false);
             }
+            updatePositionSample();
+          }
+
+          @Override
+          public void onPositionDiscontinuity(
+              Player.PositionInfo oldPosition, Player.PositionInfo newPosition, int reason) {
+            updatePositionSample();
+          }
+
+          @Override
+          public void onPlaybackParametersChanged(PlaybackParameters playbackParameters) {
+            updatePositionSample();
+          }
+
+          @Override
+          public void onMediaItemTransition(MediaItem mediaItem, int reason) {
+            if (exoPlayer.getMediaItemCount() <= 1) {
+              return;
+            }
+            Map<String, Object> event = new HashMap<>();
+            event.put("event", "playlistTransition");
+            event.put("index", exoPlayer.getCurrentWindowIndex());
+            event.put("reason", reason);
+            long durationMs = exoPlayer.getDuration();
+            event.put("duration", durationMs == C.TIME_UNSET ? -1 : durationMs);
+            sendEvent(event);
+          }
+
+          @Override
+          public void onIsPlayingChanged(boolean isPlaying) {
+            VideoPlayer.this.isPlaying = isPlaying;
+            updatePositionSample();
+            poolEntry.handler.removeCallbacks(progressUpdater);
+            poolEntry.handler.removeCallbacks(liveMonitor);
+            if (isPlaying && liveConfiguration != null) {
+              checkLiveOffset();
+            }
+            if (isPlaying && progressIntervalMs > 0) {
+              sendProgress();
+            } else if (!isPlaying && progressIntervalMs > 0) {
+              // A final update so Dart sees where playback stopped.
+              sendProgressEvent();
+            }
+          }
+
+          @Override
+          public void onTracksChanged(
+              TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
+            updateTrackIndexes(trackGroups);
+          }
+
+          @Override
+          public void onVideoSizeChanged(VideoSize videoSize) {
+            videoWidth = videoSize.width;
+            videoHeight = videoSize.height;
+            if (contentFrame == null || videoSize.height == 0 || videoSize.width == 0) {
+              return;
+            }
+            float aspectRatio =
+                videoSize.width * videoSize.pixelWidthHeightRatio / videoSize.height;
+            platformHandler.post(() -> contentFrame.setAspectRatio(aspectRatio));
           }
 
           @Override
           public void onPlayerError(final ExoPlaybackException error) {
             setBuffering(false);
-            if (eventSink != null) {
-              eventSink.error("VideoError", "Video player had error " + error, null);
-            }
+            sendError("VideoError", "Video player had error " + error);
+          }
+        };
+    runOnPlayerThread(
+        () -> {
+          exoPlayer.addListener(playerListener);
+          exoPlayer.addAnalyticsListener(metrics);
+          exoPlayer.addAnalyticsListener(decoderRecorder);
+          if (textOutput != null) {
+            exoPlayer.addTextOutput(textOutput);
           }
         });
   }
 
   void sendBufferingUpdate() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingUpdate");
-    List<? extends Number> range = Arrays.asList(0, exoPlayer.getBufferedPosition());
-    // iOS supports a list of buffered ranges, so here is a list with a single range.
-    event.put("values", Collections.singletonList(range));
-    eventSink.success(event);
+    runOnPlayerThread(
+        () -> {
+          if (compactEventChannel.isEnabled()) {
+            compactEventChannel.sendBufferingUpdate(exoPlayer.getBufferedPosition());
+            return;
+          }
+          sendEvent(VideoEvents.bufferingUpdate(exoPlayer.getBufferedPosition()));
+        });
   }
 
-  @SuppressWarnings("deprecation")
-  private static void setAudioAttributes(SimpleExoPlayer exoPlayer, boolean isMixMode) {
-    exoPlayer.setAudioAttributes(
-        new AudioAttributes.Builder().setContentType(C.CONTENT_TYPE_MOVIE).build(), !isMixMode);
+  /**
+   * Pushes a progress event every {@code intervalMs} while playing, replacing the need to poll
+   * {@link #getPosition()}. Zero stops the updates.
+   */
+  void setProgressInterval(long intervalMs) {
+    progressIntervalMs = intervalMs;
+    runOnPlayerThread(
+        () -> {
+          poolEntry.handler.removeCallbacks(progressUpdater);
+          if (intervalMs > 0 && exoPlayer.isPlaying()) {
+            sendProgress();
+          }
+        });
   }
 
-  void play() {
-    exoPlayer.setPlayWhenReady(true);
+  boolean isProgressStreaming() {
+    return progressIntervalMs > 0;
   }
 
-  void pause() {
-    exoPlayer.setPlayWhenReady(false);
+  private void sendProgress() {
+    sendProgressEvent();
+    long intervalMs = progressIntervalMs;
+    if (intervalMs > 0) {
+      poolEntry.handler.postDelayed(progressUpdater, intervalMs);
+    }
   }
 
-  void setLooping(boolean value) {
-    exoPlayer.setRepeatMode(value ? REPEAT_MODE_ALL : REPEAT_MODE_OFF);
+  /**
+   * Reports how far a live stream plays behind its live edge, and seeks back to the target offset
+   * once it is further behind than the configured hard seek offset. Catch-up, and with it the hard
+   * seek, is enabled while the requested speed is 1.0. Reschedules itself while a live stream is
+   * playing.
+   */
+  private void checkLiveOffset() {
+    LiveConfiguration live = liveConfiguration;
+    if (live == null || !exoPlayer.isCurrentWindowLive()) {
+      return;
+    }
+    // Catch-up changes the speed without reporting it.
+    updatePositionSample();
+    long offsetMs = exoPlayer.getCurrentLiveOffset();
+    if (offsetMs != C.TIME_UNSET) {
+      boolean catchUpEnabled = requestedSpeed == 1f;
+      boolean hardSeek =
+          catchUpEnabled && live.hardSeekOffsetMs > 0 && offsetMs > live.hardSeekOffsetMs;
+      if (hardSeek) {
+        liveHardSeekCount++;
+        // The default position of a live window is at the target offset.
+        exoPlayer.seekToDefaultPosition();
+      }
+      Map<String, Object> event = new HashMap<>();
+      event.put("event", "liveLatency");
+      event.put("offsetMs", offsetMs);
+      event.put("targetOffsetMs", live.targetOffsetMs == C.TIME_UNSET ? -1 : live.targetOffsetMs);
+      event.put("catchUpEnabled", catchUpEnabled);
+      event.put("hardSeek", hardSeek);
+      event.put("hardSeekCount", liveHardSeekCount);
+      sendEvent(event);
+    }
+    poolEntry.handler.postDelayed(liveMonitor, LIVE_MONITOR_INTERVAL_MS);
   }
 
-  void setVolume(double value) {
-    float bracketedValue = (float) Math.max(0.0, Math.min(1.0, value));
-    exoPlayer.setVolume(bracketedValue);
+  private void sendProgressEvent() {
+    updatePositionSample();
+    if (compactEventChannel.isProgressEnabled()) {
+      compactEventChannel.sendProgress(
+          exoPlayer.getCurrentPosition(),
+          exoPlayer.getBufferedPosition(),
+          exoPlayer.getPlaybackState());
+      return;
+    }
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "progress");
+    // Position, buffered position and playback state in a single Int64List.
+    event.put(
+        "values",
+        new long[] {
+          exoPlayer.getCurrentPosition(),
+          exoPlayer.getBufferedPosition(),
+          exoPlayer.getPlaybackState()
+        });
+    sendEvent(event);
   }
 
-  void setPlaybackSpeed(double value) {
-    // We do not need to consider pitch and skipSilence for now as we do not handle them and
-    // therefore never diverge from the default values.
-    final PlaybackParameters playbackParameters = new PlaybackParameters(((float) value));
-
-    exoPlayer.setPlaybackParameters(playbackParameters);
+  long getLastUsedTimeMs() {
+    return lastUsedTimeMs;
   }
 
-  void seekTo(int location) {
-    exoPlayer.seekTo(location);
+  boolean isPlaying() {
+    return isPlaying;
   }
 
-  long getPosition() {
-    return exoPlayer.getCurrentPosition();
+  /**
+   * Whether the player's view is attached and shown, always true in texture mode. Must be called on
+   * the platform thread.
+   */
+  boolean isOnScreen() {
+    return view == null || (view.getWindowToken() != null && view.isShown());
   }
 
-  @SuppressWarnings("SuspiciousNameCombination")
-  private void sendInitialized() {
-    if (isInitialized) {
-      Map<String, Object> event = new HashMap<>();
-      event.put("event", "initialized");
-      event.put("duration", exoPlayer.getDuration());
-
-      if (exoPlayer.getVideoFormat() != null) {
-        Format videoFormat = exoPlayer.getVideoFormat();
-        int width = videoFormat.width;
-        int height = videoFormat.height;
-        int rotationDegrees = videoFormat.rotationDegrees;
-        // Switch the width/height if video was taken in portrait mode
-        if (rotationDegrees == 90 || rotationDegrees == 270) {
-          width = exoPlayer.getVideoFormat().height;
-          height = exoPlayer.getVideoFormat().width;
-        }
-        event.put("width", width);
-        event.put("height", height);
+  private void sendCues(List<Cue> cues) {
+    List<String> texts = new ArrayList<>(cues.size());
+    for (Cue cue : cues) {
+      if (cue.text != null) {
+        texts.add(cue.text.toString());
       }
-      eventSink.success(event);
     }
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "cues");
+    event.put("texts", texts);
+    sendEvent(event);
   }
 
-  // Platform view
-  @Override
-  public View getView() {
-    return playerView;
+  /** Returns the memory held by the player's media buffers. */
+  long getBufferBytes() {
+    return poolEntry == null ? 0 : poolEntry.loadControl.getAllocatedBytes();
   }
-  @Override
-  public void dispose() {
-    if (isInitialized) {
-      exoPlayer.stop();
-    }
-    eventChannel.setStreamHandler(null);
-    if (exoPlayer != null) {
-      exoPlayer.release();
+
+  /** Returns a rough estimate of the memory held by the player's video decoder. */
+  long getDecoderBytes() {
+    if (decodersReleased) {
+      return 0;
     }
+    // YUV 4:2:0 output buffers.
+    return (long) videoWidth * videoHeight * 3 / 2 * DECODER_BUFFER_COUNT;
   }
-  @SuppressWarnings("deprecation")
-  void setAudioByIndex(int index) {
-    MappingTrackSelector.MappedTrackInfo mappedTrackInfo =
-        trackSelector.getCurrentMappedTrackInfo();
-    int trackCount = 0;
 
-    if (mappedTrackInfo != null) {
-      trackCount = mappedTrackInfo.getRendererCount();
+  /**
+   * Stops the player to release its decoders and buffers, keeping its media item. The next {@link
+   * #play()} prepares it again.
+   */
+  void releaseDecoders(int trimLevel) {
+    if (poolEntry == null) {
+      return;
     }
-    int audioIndex = 0;
-    for (int i = 0; i < trackCount; i++) {
-      if (mappedTrackInfo.getRendererType(i) != C.TRACK_TYPE_AUDIO) {
-        continue;
-      }
-
-      TrackGroupArray trackGroupArray = mappedTrackInfo.getTrackGroups(i);
-      for (int j = 0; j < trackGroupArray.length; j++) {
-
-        TrackGroup group = trackGroupArray.get(j);
-        for (int k = 0; k < group.length; k++) {
-
-          if (audioIndex == index) {
-
-            DefaultTrackSelector.ParametersBuilder builder = trackSelector.getParameters()
-                .buildUpon();
-            builder.clearSelectionOverrides(i).setRendererDisabled(i, false);
-            int[] tracks = {k};
-            DefaultTrackSelector.SelectionOverride override = new DefaultTrackSelector.SelectionOverride(
-                j, tracks);
-            builder.setSelectionOverride(i, mappedTrackInfo.getTrackGroups(i), override);
-            trackSelector.setParameters(builder);
+    runOnPlayerThread(
+        () -> {
+          if (decodersReleased || exoPlayer.getPlaybackState() == Player.STATE_IDLE) {
             return;
-
-
           }
-          audioIndex++;
-
-
-        }
-      }
+          long position = exoPlayer.getCurrentPosition();
+          exoPlayer.stop();
+          decodersReleased = true;
+          sendMemoryTrim("releaseDecoders", trimLevel, position);
+        });
+  }
 
+  /** Stops the player and clears its media, a new create call is needed to play again. */
+  void evict(int trimLevel) {
+    if (poolEntry == null) {
+      return;
     }
+    runOnPlayerThread(
+        () -> {
+          long position = exoPlayer.getCurrentPosition();
+          exoPlayer.stop();
+          exoPlayer.clearMediaItems();
+          decodersReleased = true;
+          isInitialized = false;
+          sendMemoryTrim("evict", trimLevel, position);
+        });
   }
-  @SuppressWarnings("deprecation")
-  ArrayList<String> getAudios() {
-    MappingTrackSelector.MappedTrackInfo mappedTrackInfo =
-        trackSelector.getCurrentMappedTrackInfo();
-
-    ArrayList<String> audios = new ArrayList<String>();
-    if(mappedTrackInfo!=null) {
-      for(int i =0;i<mappedTrackInfo.getRendererCount();i++)
-      {
-        if(mappedTrackInfo.getRendererType(i)!= C.TRACK_TYPE_AUDIO)
-          continue;
-
-        TrackGroupArray trackGroupArray = mappedTrackInfo.getTrackGroups(i);
-        for(int j =0;j<trackGroupArray.length;j++) {
-
-          TrackGroup group = trackGroupArray.get(j);
-          TrackNameProvider provider = new DefaultTrackNameProvider(context.getResources());
-          for (int k = 0; k < group.length; k++) {
-            if ((mappedTrackInfo.getTrackSupport(i, j, k) &0b111)
-                == RendererCapabilities.FORMAT_HANDLED) {
-              //trackSelector.setParameters(builder);
-              audios.add(provider.getTrackName(group.getFormat(k)));
-
-
-            }
-
-          }
-        }
 
-      }
+  void sendMemoryTrim(String action, int trimLevel) {
+    if (poolEntry == null) {
+      return;
     }
-    return audios;
+    runOnPlayerThread(() -> sendMemoryTrim(action, trimLevel, exoPlayer.getCurrentPosition()));
+  }
 
+  private void sendMemoryTrim(String action, int trimLevel, long position) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "memoryTrim");
+    event.put("action", action);
+    event.put("level", trimLevel);
+    event.put("position", position);
+    sendEvent(event);
+  }
 
+  /** Returns the player's startup timings, playback health and event queue counters. */
+  Map<String, Object> getPlaybackMetrics() {
+    Map<String, Object> result = metrics.toMap();
+    result.put("eventsDropped", eventSink.getDroppedCount());
+    result.put("eventsCoalesced", eventSink.getCoalescedCount());
+    return result;
   }
-  @SuppressWarnings("deprecation")
-  void setAudio(String audioName) {
-    MappingTrackSelector.MappedTrackInfo mappedTrackInfo =
-        trackSelector.getCurrentMappedTrackInfo();
-    int trackCount = 0;
 
-    if (mappedTrackInfo != null) {
-      trackCount = mappedTrackInfo.getRendererCount();
+  /**
+   * Pushes a {@code playbackMetrics} event whenever a startup stage is reached or a rebuffer ends.
+   */
+  void setPlaybackMetricsEvents(boolean enabled) {
+    metricsEventsEnabled = enabled;
+    if (enabled) {
+      onMetricsUpdated();
     }
-    for (int i = 0; i < trackCount; i++) {
-      if (mappedTrackInfo.getRendererType(i) != C.TRACK_TYPE_AUDIO) {
-        continue;
-      }
-
-      TrackGroupArray trackGroupArray = mappedTrackInfo.getTrackGroups(i);
-      for (int j = 0; j < trackGroupArray.length; j++) {
-
-        TrackGroup group = trackGroupArray.get(j);
-        TrackNameProvider provider = new DefaultTrackNameProvider(context.getResources());
-        for (int k = 0; k < group.length; k++) {
-
-          if (provider.getTrackName(group.getFormat(k)).equals(audioName)) {
-
-            DefaultTrackSelector.ParametersBuilder builder = trackSelector.getParameters()
-                .buildUpon();
-            builder.clearSelectionOverrides(i).setRendererDisabled(i, false);
-            int[] tracks = {k};
-            DefaultTrackSelector.SelectionOverride override = new DefaultTrackSelector.SelectionOverride(
-                j, tracks);
-            builder.setSelectionOverride(i, mappedTrackInfo.getTrackGroups(i), override);
-            trackSelector.setParameters(builder);
-            return;
-
-
-          }
+  }
 
-        }
-      }
+  private void onMetricsUpdated() {
+    if (!metricsEventsEnabled) {
+      return;
+    }
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "playbackMetrics");
+    event.put("values", getPlaybackMetrics());
+    sendEvent(event);
+  }
 
+  private void sendCacheStats() {
+    if (options == null || options.maxCacheBytes <= 0) {
+      return;
     }
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "cacheStats");
+    event.put("hitBytes", cacheHitBytes.get());
+    event.put("missBytes", cacheMissBytes.get());
+    sendEvent(event);
   }
 
   @SuppressWarnings("deprecation")
-  void setSubtitleByIndex(int index) {
-    MappingTrackSelector.MappedTrackInfo mappedTrackInfo =
-        trackSelector.getCurrentMappedTrackInfo();
-    int trackCount = 0;
+  private static void setAudioAttributes(SimpleExoPlayer exoPlayer, boolean isMixMode) {
+    exoPlayer.setAudioAttributes(
+        new AudioAttributes.Builder().setContentType(C.CONTENT_TYPE_MOVIE).build(), !isMixMode);
+  }
 
-    if (mappedTrackInfo != null) {
-      trackCount = mappedTrackInfo.getRendererCount();
-    }
-    int audioIndex = 0;
-    for (int i = 0; i < trackCount; i++) {
-      if (mappedTrackInfo.getRendererType(i) != C.TRACK_TYPE_TEXT) {
-        continue;
-      }
+  void play() {
+    lastUsedTimeMs = SystemClock.elapsedRealtime();
+    runOnPlayerThread(
+        () -> {
+          if (decodersReleased && exoPlayer.getMediaItemCount() > 0) {
+            // Decoders were released under memory pressure, the media item is still set.
+            decodersReleased = false;
+            exoPlayer.prepare();
+          }
+          exoPlayer.setPlayWhenReady(true);
+        });
+  }
 
-      TrackGroupArray trackGroupArray = mappedTrackInfo.getTrackGroups(i);
-      for (int j = 0; j < trackGroupArray.length; j++) {
+  void pause() {
+    runOnPlayerThread(() -> exoPlayer.setPlayWhenReady(false));
+  }
 
-        TrackGroup group = trackGroupArray.get(j);
-        for (int k = 0; k < group.length; k++) {
+  void setLooping(boolean value) {
+    runOnPlayerThread(() -> exoPlayer.setRepeatMode(value ? REPEAT_MODE_ALL : REPEAT_MODE_OFF));
+  }
 
-          if (audioIndex == index) {
+  void setVolume(double value) {
+    float bracketedValue = (float) Math.max(0.0, Math.min(1.0, value));
+    runOnPlayerThread(() -> exoPlayer.setVolume(bracketedValue));
+  }
 
-            DefaultTrackSelector.ParametersBuilder builder = trackSelector.getParameters()
-                .buildUpon();
-            builder.clearSelectionOverrides(i).setRendererDisabled(i, false);
-            int[] tracks = {k};
-            DefaultTrackSelector.SelectionOverride override = new DefaultTrackSelector.SelectionOverride(
-                j, tracks);
-            builder.setSelectionOverride(i, mappedTrackInfo.getTrackGroups(i), override);
-            trackSelector.setParameters(builder);
-            return;
+  /**
+   * Sets the speed of playback. On a live stream, 1.0 leaves the speed to the automatic catch-up
+   * of the live configuration. Any other speed turns catch-up and hard seeks off until the speed
+   * is set back to 1.0, so they never fight the app's choice.
+   */
+  void setPlaybackSpeed(double value) {
+    // We do not need to consider pitch and skipSilence for now as we do not handle them and
+    // therefore never diverge from the default values.
+    float speed = (float) value;
+    // ExoPlayer only adjusts the speed of live streams while playback parameters are the default.
+    final PlaybackParameters playbackParameters =
+        speed == 1f ? PlaybackParameters.DEFAULT : new PlaybackParameters(speed);
+
+    runOnPlayerThread(
+        () -> {
+          requestedSpeed = speed;
+          exoPlayer.setPlaybackParameters(playbackParameters);
+        });
+  }
 
+  /**
+   * Caps the video tracks the player selects. Values of 0 or less remove a cap. A viewport of 0
+   * follows the platform view's size, which is the only way to size texture players.
+   */
+  void setVideoConstraints(
+      int maxBitrate, int maxWidth, int maxHeight, int viewportWidth, int viewportHeight) {
+    maxVideoBitrate = maxBitrate > 0 ? maxBitrate : Integer.MAX_VALUE;
+    maxVideoWidth = maxWidth > 0 ? maxWidth : Integer.MAX_VALUE;
+    maxVideoHeight = maxHeight > 0 ? maxHeight : Integer.MAX_VALUE;
+    this.viewportWidth = Math.max(viewportWidth, 0);
+    this.viewportHeight = Math.max(viewportHeight, 0);
+    applyVideoConstraints();
+  }
 
+  /**
+   * Passes the constraints to the track selector, which picks the smallest rendition covering the
+   * viewport within the caps. Applied once the player is built.
+   */
+  private void applyVideoConstraints() {
+    if (poolEntry == null) {
+      return;
+    }
+    boolean explicitViewport = viewportWidth > 0 && viewportHeight > 0;
+    int width = explicitViewport ? viewportWidth : viewWidth;
+    int height = explicitViewport ? viewportHeight : viewHeight;
+    int maxBitrate = maxVideoBitrate;
+    int maxWidth = maxVideoWidth;
+    int maxHeight = maxVideoHeight;
+    runOnPlayerThread(
+        () -> {
+          DefaultTrackSelector.ParametersBuilder builder =
+              trackSelector.getParameters().buildUpon();
+          setVideoCaps(builder, maxBitrate, maxWidth, maxHeight);
+          if (width > 0 && height > 0) {
+            builder.setViewportSize(width, height, /* viewportOrientationMayChange= */ false);
+          } else {
+            builder.setViewportSizeToPhysicalDisplaySize(
+                context, /* viewportOrientationMayChange= */ true);
           }
-          audioIndex++;
-
-
-        }
-      }
+          trackSelector.setParameters(builder);
+        });
+  }
 
+  /** Caps the video tracks on the player thread, to none at all while audio only. */
+  private void setVideoCaps(
+      DefaultTrackSelector.ParametersBuilder builder, int maxBitrate, int maxWidth, int maxHeight) {
+    if (audioOnly) {
+      builder.setMaxVideoBitrate(0).setMaxVideoSize(0, 0);
+    } else {
+      builder.setMaxVideoBitrate(maxBitrate).setMaxVideoSize(maxWidth, maxHeight);
     }
   }
-  @SuppressWarnings("deprecation")
-  ArrayList<String> getSubtitles() {
-    MappingTrackSelector.MappedTrackInfo mappedTrackInfo =
-        trackSelector.getCurrentMappedTrackInfo();
-
-    ArrayList<String> subtitles = new ArrayList<String>();
-    if(mappedTrackInfo!=null) {
-      for(int i =0;i<mappedTrackInfo.getRendererCount();i++)
-      {
-        if(mappedTrackInfo.getRendererType(i)!= C.TRACK_TYPE_TEXT)
-          continue;
 
-        TrackGroupArray trackGroupArray = mappedTrackInfo.getTrackGroups(i);
-        for(int j =0;j<trackGroupArray.length;j++) {
-
-          TrackGroup group = trackGroupArray.get(j);
-          TrackNameProvider provider = new DefaultTrackNameProvider(context.getResources());
-          for (int k = 0; k < group.length; k++) {
-            if ((mappedTrackInfo.getTrackSupport(i, j, k) &0b111)
-                == RendererCapabilities.FORMAT_HANDLED) {
-              //trackSelector.setParameters(builder);
-              subtitles.add(provider.getTrackName(group.getFormat(k)));
+  /**
+   * Disables or re-enables the video renderers without rebuilding the player. While audio only,
+   * the video decoder is released and adaptive streams load no video, while audio keeps its
+   * rendition. Video comes back from the nearest keyframe.
+   */
+  void setAudioOnly(boolean audioOnly) {
+    int maxBitrate = maxVideoBitrate;
+    int maxWidth = maxVideoWidth;
+    int maxHeight = maxVideoHeight;
+    runOnPlayerThread(
+        () -> {
+          if (audioOnly == this.audioOnly) {
+            return;
+          }
+          this.audioOnly = audioOnly;
+          DefaultTrackSelector.ParametersBuilder builder =
+              trackSelector.getParameters().buildUpon();
+          for (int i = 0; i < exoPlayer.getRendererCount(); i++) {
+            if (exoPlayer.getRendererType(i) == C.TRACK_TYPE_VIDEO) {
+              builder.setRendererDisabled(i, audioOnly);
+            }
+          }
+          setVideoCaps(builder, maxBitrate, maxWidth, maxHeight);
+          trackSelector.setParameters(builder);
+          if (!audioOnly && exoPlayer.getPlaybackState() != Player.STATE_IDLE) {
+            // The video renderer needs a keyframe to start from, seeking to the nearest one is
+            // cheaper than decoding up to the current position.
+            SeekParameters seekParameters = exoPlayer.getSeekParameters();
+            exoPlayer.setSeekParameters(SeekParameters.CLOSEST_SYNC);
+            exoPlayer.seekTo(exoPlayer.getCurrentPosition());
+            exoPlayer.setSeekParameters(seekParameters);
+          }
+        });
+  }
 
+  void seekTo(int location) {
+    lastUsedTimeMs = SystemClock.elapsedRealtime();
+    runOnPlayerThread(() -> exoPlayer.seekTo(location));
+  }
 
-            }
+  /**
+   * Returns the playback position without waiting for the player thread, extrapolated from the
+   * last one it published. The player thread publishes the position whenever it jumps, starts or
+   * stops advancing or changes speed, and on every progress update.
+   */
+  long getPosition() {
+    PositionSample sample = positionSample;
+    return sample.positionMs
+        + (long) ((SystemClock.elapsedRealtime() - sample.elapsedRealtimeMs) * sample.speed);
+  }
 
-          }
-        }
+  /** Publishes the player's position for {@link #getPosition()}. Called on the player thread. */
+  private void updatePositionSample() {
+    positionSample =
+        new PositionSample(
+            exoPlayer.getCurrentPosition(),
+            SystemClock.elapsedRealtime(),
+            exoPlayer.isPlaying() ? exoPlayer.getPlaybackParameters().speed : 0f);
+  }
 
+  @SuppressWarnings("SuspiciousNameCombination")
+  private void sendInitialized() {
+    if (isInitialized) {
+      Format videoFormat = exoPlayer.getVideoFormat();
+      if (videoFormat != null) {
+        sendEvent(
+            VideoEvents.initialized(
+                exoPlayer.getDuration(),
+                videoFormat.width,
+                videoFormat.height,
+                videoFormat.rotationDegrees));
+      } else {
+        sendEvent(VideoEvents.initialized(exoPlayer.getDuration()));
       }
     }
-    return subtitles;
-
-
   }
-  @SuppressWarnings("deprecation")
-  void setSubtitle(String subtitle) {
-    MappingTrackSelector.MappedTrackInfo mappedTrackInfo =
-        trackSelector.getCurrentMappedTrackInfo();
-    int trackCount = 0;
 
-    if (mappedTrackInfo != null) {
-      trackCount = mappedTrackInfo.getRendererCount();
+  // Platform view
+  @Override
+  public View getView() {
+    return view;
+  }
+  /**
+   * Detaches the view and event channels at once. The player is reset for reuse or released on its
+   * own thread, without blocking the caller.
+   */
+  @Override
+  public void dispose() {
+    if (disposed) {
+      return;
+    }
+    disposed = true;
+    eventChannel.setStreamHandler(null);
+    compactEventChannel.dispose();
+    if (playerView != null) {
+      playerView.setPlayer(null);
     }
-    for (int i = 0; i < trackCount; i++) {
-      if (mappedTrackInfo.getRendererType(i) != C.TRACK_TYPE_TEXT) {
-        continue;
+    if (poolEntry == null) {
+      // The player was never built, there is nothing to release but the texture.
+      pendingCommands.clear();
+      if (textureEntry != null) {
+        textureSurface.release();
+        textureEntry.release();
       }
+      return;
+    }
+    runOnPlayerThread(
+        () -> {
+          poolEntry.handler.removeCallbacks(progressUpdater);
+          poolEntry.handler.removeCallbacks(liveMonitor);
+          exoPlayer.removeListener(playerListener);
+          exoPlayer.removeAnalyticsListener(metrics);
+          exoPlayer.removeAnalyticsListener(decoderRecorder);
+          if (textOutput != null) {
+            exoPlayer.removeTextOutput(textOutput);
+          }
+        });
+    playerPool.release(
+        poolEntry,
+        () -> {
+          // The player no longer renders into the texture.
+          if (textureEntry != null) {
+            textureSurface.release();
+            textureEntry.release();
+          }
+        });
+  }
 
-      TrackGroupArray trackGroupArray = mappedTrackInfo.getTrackGroups(i);
-      for (int j = 0; j < trackGroupArray.length; j++) {
-
-        TrackGroup group = trackGroupArray.get(j);
-        TrackNameProvider provider = new DefaultTrackNameProvider(context.getResources());
-        for (int k = 0; k < group.length; k++) {
+  void setAudioByIndex(int index) {
+    runOnPlayerThread(() -> audioTracks.select(trackSelector, index));
+  }
 
-          if (provider.getTrackName(group.getFormat(k)).equals(subtitle)) {
+  List<String> getAudios() {
+    return audioTracks.getNames();
+  }
 
-            DefaultTrackSelector.ParametersBuilder builder = trackSelector.getParameters()
-                .buildUpon();
-            builder.clearSelectionOverrides(i).setRendererDisabled(i, false);
-            int[] tracks = {k};
-            DefaultTrackSelector.SelectionOverride override = new DefaultTrackSelector.SelectionOverride(
-                j, tracks);
-            builder.setSelectionOverride(i, mappedTrackInfo.getTrackGroups(i), override);
-            trackSelector.setParameters(builder);
-            return;
+  void setAudio(String audioName) {
+    runOnPlayerThread(() -> audioTracks.select(trackSelector, audioTracks.indexOf(audioName)));
+  }
 
+  void setSubtitleByIndex(int index) {
+    runOnPlayerThread(() -> subtitleTracks.select(trackSelector, index));
+  }
 
-          }
+  List<String> getSubtitles() {
+    return subtitleTracks.getNames();
+  }
 
-        }
-      }
+  void setSubtitle(String subtitle) {
+    runOnPlayerThread(
+        () -> subtitleTracks.select(trackSelector, subtitleTracks.indexOf(subtitle)));
+  }
 
+  /**
+   * Rebuilds the track indexes when the available tracks change and pushes the new track names to
+   * Dart. Changing the selection alone keeps the indexes.
+   */
+  private void updateTrackIndexes(TrackGroupArray trackGroups) {
+    if (trackGroups.equals(indexedTrackGroups)) {
+      return;
     }
+    indexedTrackGroups = trackGroups;
+    MappingTrackSelector.MappedTrackInfo mappedTrackInfo =
+        trackSelector.getCurrentMappedTrackInfo();
+    audioTracks = TrackIndex.build(mappedTrackInfo, C.TRACK_TYPE_AUDIO, trackNameProvider);
+    subtitleTracks = TrackIndex.build(mappedTrackInfo, C.TRACK_TYPE_TEXT, trackNameProvider);
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "tracksChanged");
+    event.put("audios", audioTracks.getNames());
+    event.put("subtitles", subtitleTracks.getNames());
+    sendEvent(event);
   }
 }
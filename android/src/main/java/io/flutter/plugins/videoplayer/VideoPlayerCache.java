@@ -0,0 +1,76 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import com.google.android.exoplayer2.database.DatabaseProvider;
+import com.google.android.exoplayer2.database.ExoDatabaseProvider;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import io.flutter.Log;
+import java.io.File;
+
+/**
+ * Size-bounded on-disk media cache shared by every {@link VideoPlayer}.
+ *
+ * <p>A {@link SimpleCache} may only be opened once per directory, so a single process-wide
+ * instance is kept and handed out to all players, including those of later engine attachments.
+ */
+final class VideoPlayerCache {
+  private static final String TAG = "VideoPlayerCache";
+  private static final String CACHE_DIR = "video_player_cache";
+
+  private static VideoPlayerCache instance;
+  private static DatabaseProvider databaseProvider;
+
+  private final SimpleCache cache;
+  private final long maxBytes;
+
+  private VideoPlayerCache(Context context, long maxBytes) {
+    this.maxBytes = maxBytes;
+    cache =
+        new SimpleCache(
+            new File(context.getCacheDir(), CACHE_DIR),
+            new LeastRecentlyUsedCacheEvictor(maxBytes),
+            getDatabaseProvider(context));
+  }
+
+  /**
+   * Returns the database the cache keeps its index in. {@link VideoDownloads} shares it, so the
+   * process holds a single connection to ExoPlayer's database.
+   */
+  static synchronized DatabaseProvider getDatabaseProvider(Context context) {
+    if (databaseProvider == null) {
+      databaseProvider = new ExoDatabaseProvider(context.getApplicationContext());
+    }
+    return databaseProvider;
+  }
+
+  static synchronized VideoPlayerCache getInstance(Context context, long maxBytes) {
+    if (instance == null) {
+      instance = new VideoPlayerCache(context.getApplicationContext(), maxBytes);
+    } else if (instance.maxBytes != maxBytes) {
+      Log.w(
+          TAG,
+          "Cache is already open with a limit of "
+              + instance.maxBytes
+              + " bytes, ignoring new limit of "
+              + maxBytes);
+    }
+    return instance;
+  }
+
+  /** Wraps {@code upstreamFactory} so that reads are served from, and written to, the cache. */
+  CacheDataSource.Factory wrap(
+      DataSource.Factory upstreamFactory, CacheDataSource.EventListener eventListener) {
+    return new CacheDataSource.Factory()
+        .setCache(cache)
+        .setUpstreamDataSourceFactory(upstreamFactory)
+        .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+        .setEventListener(eventListener);
+  }
+}
@@ -6,4 +6,10 @@ package io.flutter.plugins.videoplayer;
 
 class VideoPlayerOptions {
   public boolean mixWithOthers;
+  /** Upper bound of the shared media cache in bytes, or 0 when caching is disabled. */
+  public long maxCacheBytes;
+  /** Thread new players run on, one of the {@code ExoPlayerPool.THREAD_*} constants. */
+  public int playbackThreadMode = ExoPlayerPool.THREAD_MAIN;
+  /** Buffering of players whose create call doesn't set a profile. */
+  public BufferProfile bufferProfile = BufferProfile.DEFAULT;
 }
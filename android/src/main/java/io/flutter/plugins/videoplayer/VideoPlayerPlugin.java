@@ -19,21 +19,39 @@ import io.flutter.plugin.platform.PlatformViewFactory;
 import io.flutter.plugin.platform.PlatformView;
 
 import io.flutter.plugins.videoplayer.Messages.AudioMessage;
+import io.flutter.plugins.videoplayer.Messages.AudioOnlyMessage;
+import io.flutter.plugins.videoplayer.Messages.BatchMessage;
+import io.flutter.plugins.videoplayer.Messages.BufferOptionsMessage;
+import io.flutter.plugins.videoplayer.Messages.CacheOptionsMessage;
 import io.flutter.plugins.videoplayer.Messages.CreateMessage;
+import io.flutter.plugins.videoplayer.Messages.DecoderOptionsMessage;
+import io.flutter.plugins.videoplayer.Messages.DownloadMessage;
+import io.flutter.plugins.videoplayer.Messages.HttpOptionsMessage;
 import io.flutter.plugins.videoplayer.Messages.LoopingMessage;
 import io.flutter.plugins.videoplayer.Messages.MixWithOthersMessage;
+import io.flutter.plugins.videoplayer.Messages.PlaybackMetricsMessage;
 import io.flutter.plugins.videoplayer.Messages.PlaybackSpeedMessage;
+import io.flutter.plugins.videoplayer.Messages.PlaybackThreadMessage;
+import io.flutter.plugins.videoplayer.Messages.PlayerPoolMessage;
+import io.flutter.plugins.videoplayer.Messages.PlaylistMessage;
 import io.flutter.plugins.videoplayer.Messages.PositionMessage;
+import io.flutter.plugins.videoplayer.Messages.PreconnectMessage;
+import io.flutter.plugins.videoplayer.Messages.PrefetchMessage;
+import io.flutter.plugins.videoplayer.Messages.ProgressIntervalMessage;
 import io.flutter.plugins.videoplayer.Messages.SubtitleMessage;
 import io.flutter.plugins.videoplayer.Messages.TextureMessage;
+import io.flutter.plugins.videoplayer.Messages.TexturePlayerMessage;
+import io.flutter.plugins.videoplayer.Messages.VideoConstraintsMessage;
 import io.flutter.plugins.videoplayer.Messages.VideoPlayerApi;
 import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
 import io.flutter.view.TextureRegistry;
 
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.net.ssl.HttpsURLConnection;
@@ -44,6 +62,17 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
   private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
   private static FlutterState flutterState;
   private VideoPlayerOptions options = new VideoPlayerOptions();
+  private VideoPrefetcher prefetcher;
+  private Preconnector preconnector;
+  private ExoPlayerPool playerPool;
+  private int poolMaxSize;
+  private final ConfigurableLoadControl.Budget bufferBudget = new ConfigurableLoadControl.Budget();
+  private MemoryGovernor memoryGovernor;
+  /**
+   * Id of the next texture player. Texture players count down from -2, so they never clash with
+   * platform view ids, which are never negative, or with -1, Dart's uninitialized id.
+   */
+  private long nextTexturePlayerId = -2;
   static  VideoPlayerPlugin instance ;
   private static final String VIEW_TYPE = "flutter.io/videoPlayer/getVideoView";
 
@@ -71,6 +100,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
             VIEW_TYPE,
             flutterState
         );
+    registerMemoryGovernor(registrar.context());
     instance = this;
   }
 
@@ -97,16 +127,40 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
     registrar.addViewDestroyListener(
         view -> {
           instance.onDestroy();
+          instance.unregisterMemoryGovernor(registrar.context());
           return false; // We are not interested in assuming ownership of the NativeView.
         });
   }
   VideoPlayer build(int viewId, Context context, BinaryMessenger binaryMessenger) {
     // only create view for player and attach channel events
+    return buildPlayer(viewId, context, null);
+  }
 
+  private VideoPlayer buildPlayer(
+      long viewId, Context context, TextureRegistry.SurfaceTextureEntry textureEntry) {
     EventChannel eventChannel =
         new EventChannel(
             flutterState.binaryMessenger, "flutter.io/videoPlayer/videoEvents" + viewId);
-    VideoPlayer vlcPlayer = new VideoPlayer(context, eventChannel);
+    CompactEventChannel compactEventChannel =
+        new CompactEventChannel(
+            flutterState.binaryMessenger, "flutter.io/videoPlayer/videoEventsCompact" + viewId);
+    if (playerPool == null) {
+      playerPool =
+          new ExoPlayerPool(
+              flutterState.applicationContext,
+              bufferBudget,
+              PersistentBandwidthMeter.getInstance(flutterState.applicationContext)
+                  .getBandwidthMeter());
+      playerPool.setMaxSize(poolMaxSize);
+    }
+    VideoPlayer vlcPlayer =
+        new VideoPlayer(
+            context,
+            eventChannel,
+            compactEventChannel,
+            playerPool,
+            options.playbackThreadMode,
+            textureEntry);
     videoPlayers.append(viewId, vlcPlayer);
     Log.i("addedview", "view id is " + viewId);
     return vlcPlayer;
@@ -142,6 +196,9 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
         .registerViewFactory(
             VIEW_TYPE, flutterState);
     flutterState.startListening(this, binding.getBinaryMessenger());
+    registerMemoryGovernor(binding.getApplicationContext());
+    // Opens an existing download store now, so its index is read by the time anything plays.
+    VideoDownloads.peek(binding.getApplicationContext());
   }
 
   @Override
@@ -150,8 +207,44 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
       Log.wtf(TAG, "Detached from the engine before registering to it.");
     }
     flutterState.stopListening(binding.getBinaryMessenger());
+    unregisterMemoryGovernor(binding.getApplicationContext());
     flutterState = null;
+    if (prefetcher != null) {
+      prefetcher.release();
+      prefetcher = null;
+    }
+    if (preconnector != null) {
+      preconnector.release();
+      preconnector = null;
+    }
     initialize();
+    if (playerPool != null) {
+      playerPool.clear();
+      playerPool = null;
+      PersistentBandwidthMeter.getInstance(binding.getApplicationContext()).flush();
+      DecoderTable.getInstance(binding.getApplicationContext()).flush();
+    }
+  }
+
+  /** Frees player memory on the system's trim-memory callbacks until unregistered. */
+  private void registerMemoryGovernor(Context context) {
+    memoryGovernor =
+        new MemoryGovernor(
+            videoPlayers,
+            bufferBudget,
+            () -> {
+              if (playerPool != null) {
+                playerPool.releaseIdle();
+              }
+            });
+    context.getApplicationContext().registerComponentCallbacks(memoryGovernor);
+  }
+
+  private void unregisterMemoryGovernor(Context context) {
+    if (memoryGovernor != null) {
+      context.getApplicationContext().unregisterComponentCallbacks(memoryGovernor);
+      memoryGovernor = null;
+    }
   }
 
   private void disposeAllPlayers() {
@@ -180,6 +273,9 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
 
     Log.i("video_players_size_is",""+videoPlayers.size());
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    BufferProfile bufferProfile =
+        BufferProfile.fromMap(arg.getBufferProfile(), options.bufferProfile);
+    LiveConfiguration liveConfiguration = LiveConfiguration.fromMap(arg.getLiveConfiguration());
 
     if (arg.getAsset() != null) {
       String assetLookupKey;
@@ -189,18 +285,107 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
       } else {
         assetLookupKey = flutterState.keyForAsset.get(arg.getAsset());
       }
-      player.setData(assetLookupKey,null,null,options);
+      player.setData(assetLookupKey,null,null,bufferProfile,null,options);
     } else {
-      @SuppressWarnings("unchecked")
-      Map<Object, Object> httpHeaders = arg.getHttpHeaders();
-      Map<String, String> newMap = new HashMap<String, String>();
-      for (Map.Entry<Object, Object> entry : httpHeaders.entrySet()) {
-        if (entry.getValue() instanceof String) {
-          newMap.put(entry.getKey().toString(), (String) entry.getValue());
+      if (prefetcher != null) {
+        // The player reads whatever has been prefetched so far from the cache; a fetch still in
+        // flight would only compete with it for the same cache spans.
+        prefetcher.cancel(arg.getUri());
+      }
+      player.setData(
+          arg.getUri(),
+          arg.getFormatHint(),
+          toHeaders(arg.getHttpHeaders()),
+          bufferProfile,
+          liveConfiguration,
+          options);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void addPlaylistItems(PlaylistMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    List<VideoPlayer.PlaylistItem> items = new ArrayList<>();
+    for (Object object : arg.getItems()) {
+      Map<Object, Object> item = (Map<Object, Object>) object;
+      String asset = (String) item.get("asset");
+      if (asset != null) {
+        String packageName = (String) item.get("packageName");
+        String assetLookupKey =
+            packageName != null
+                ? flutterState.keyForAssetAndPackageName.get(asset, packageName)
+                : flutterState.keyForAsset.get(asset);
+        items.add(new VideoPlayer.PlaylistItem(assetLookupKey, null, null));
+      } else {
+        String uri = (String) item.get("uri");
+        if (prefetcher != null) {
+          prefetcher.cancel(uri);
         }
+        items.add(
+            new VideoPlayer.PlaylistItem(
+                uri,
+                (String) item.get("formatHint"),
+                toHeaders((Map<Object, Object>) item.get("httpHeaders"))));
       }
-      player.setData(arg.getUri(),arg.getFormatHint(),newMap,options);
     }
+    player.addPlaylistItems(
+        arg.getIndex() == null ? -1 : arg.getIndex().intValue(), items, options);
+  }
+
+  @Override
+  public void removePlaylistItems(PlaylistMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    int index = arg.getIndex().intValue();
+    player.removePlaylistItems(
+        index, arg.getToIndex() == null ? index + 1 : arg.getToIndex().intValue());
+  }
+
+  @Override
+  public void movePlaylistItem(PlaylistMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.movePlaylistItem(arg.getIndex().intValue(), arg.getToIndex().intValue());
+  }
+
+  @Override
+  public void seekToPlaylistItem(PlaylistMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.seekToPlaylistItem(
+        arg.getIndex().intValue(), arg.getPositionMs() == null ? 0 : arg.getPositionMs());
+  }
+
+  @Override
+  public void setAudioOnly(AudioOnlyMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setAudioOnly(Boolean.TRUE.equals(arg.getAudioOnly()));
+  }
+
+  @Override
+  public void setVideoConstraints(VideoConstraintsMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setVideoConstraints(
+        toInt(arg.getMaxBitrate()),
+        toInt(arg.getMaxWidth()),
+        toInt(arg.getMaxHeight()),
+        toInt(arg.getViewportWidth()),
+        toInt(arg.getViewportHeight()));
+  }
+
+  private static int toInt(Long value) {
+    return value == null ? 0 : (int) Math.min(value, Integer.MAX_VALUE);
+  }
+
+  private static Map<String, String> toHeaders(Map<Object, Object> httpHeaders) {
+    Map<String, String> newMap = new HashMap<String, String>();
+    if (httpHeaders == null) {
+      return newMap;
+    }
+    for (Map.Entry<Object, Object> entry : httpHeaders.entrySet()) {
+      if (entry.getValue() instanceof String) {
+        newMap.put(entry.getKey().toString(), (String) entry.getValue());
+      }
+    }
+    return newMap;
   }
 
   public void dispose(TextureMessage arg) {
@@ -233,7 +418,9 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     PositionMessage result = new PositionMessage();
     result.setPosition(player.getPosition());
-    player.sendBufferingUpdate();
+    if (!player.isProgressStreaming()) {
+      player.sendBufferingUpdate();
+    }
     return result;
   }
 
@@ -290,11 +477,420 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
 
   }
 
+  @Override
+  public void setProgressInterval(ProgressIntervalMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setProgressInterval(arg.getIntervalMs() == null ? 0 : arg.getIntervalMs());
+  }
+
+  @Override
+  public PlaybackMetricsMessage getPlaybackMetrics(TextureMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    PlaybackMetricsMessage result = new PlaybackMetricsMessage();
+    result.setTextureId(arg.getTextureId());
+    result.setMetrics(new HashMap<>(player.getPlaybackMetrics()));
+    return result;
+  }
+
+  @Override
+  public void setPlaybackMetricsEvents(PlaybackMetricsMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setPlaybackMetricsEvents(Boolean.TRUE.equals(arg.getEventsEnabled()));
+  }
+
   @Override
   public void setMixWithOthers(MixWithOthersMessage arg) {
     options.mixWithOthers = arg.getMixWithOthers();
   }
 
+  @Override
+  public void setCacheOptions(CacheOptionsMessage arg) {
+    // Only sources set after this call go through the cache.
+    options.maxCacheBytes = arg.getMaxCacheSize() == null ? 0 : arg.getMaxCacheSize();
+  }
+
+  @Override
+  public void prefetch(PrefetchMessage arg) {
+    if (options.maxCacheBytes <= 0) {
+      throw new IllegalStateException("setCacheOptions must enable the cache before prefetching");
+    }
+    if (prefetcher == null) {
+      prefetcher =
+          new VideoPrefetcher(
+              VideoPlayerCache.getInstance(flutterState.applicationContext, options.maxCacheBytes));
+    }
+    long maxBytes = arg.getMaxBytes() == null ? 0 : arg.getMaxBytes();
+    int priority = arg.getPriority() == null ? 0 : arg.getPriority().intValue();
+    Map<String, String> httpHeaders = toHeaders(arg.getHttpHeaders());
+    for (Object uri : arg.getUris()) {
+      prefetcher.prefetch(uri.toString(), maxBytes, priority, httpHeaders);
+    }
+  }
+
+  @Override
+  public void cancelPrefetch(PrefetchMessage arg) {
+    if (prefetcher == null) {
+      return;
+    }
+    if (arg.getUris() == null) {
+      prefetcher.cancelAll();
+      return;
+    }
+    for (Object uri : arg.getUris()) {
+      prefetcher.cancel(uri.toString());
+    }
+  }
+
+  @Override
+  public void setPlayerPoolOptions(PlayerPoolMessage arg) {
+    poolMaxSize = arg.getMaxSize() == null ? 0 : arg.getMaxSize().intValue();
+    if (playerPool != null) {
+      playerPool.setMaxSize(poolMaxSize);
+    }
+  }
+
+  @Override
+  public PlayerPoolMessage getPlayerPoolStats() {
+    PlayerPoolMessage result = new PlayerPoolMessage();
+    result.setMaxSize((long) poolMaxSize);
+    if (playerPool != null) {
+      result.setIdleCount((long) playerPool.getIdleCount());
+      result.setHitCount(playerPool.getHitCount());
+      result.setMissCount(playerPool.getMissCount());
+      result.setTotalConstructionTimeUs(playerPool.getTotalConstructionTimeUs());
+      result.setPendingReleaseCount((long) playerPool.getPendingReleaseCount());
+      result.setReleaseTimeoutCount(playerPool.getReleaseTimeoutCount());
+    } else {
+      result.setIdleCount(0L);
+      result.setHitCount(0L);
+      result.setMissCount(0L);
+      result.setTotalConstructionTimeUs(0L);
+      result.setPendingReleaseCount(0L);
+      result.setReleaseTimeoutCount(0L);
+    }
+    return result;
+  }
+
+  @Override
+  public void setPlaybackThreadOptions(PlaybackThreadMessage arg) {
+    // Applies to views built after this call, existing players stay on their thread.
+    String threadMode = arg.getThreadMode();
+    if (threadMode == null || threadMode.equals("main")) {
+      options.playbackThreadMode = ExoPlayerPool.THREAD_MAIN;
+    } else if (threadMode.equals("shared")) {
+      options.playbackThreadMode = ExoPlayerPool.THREAD_SHARED;
+    } else if (threadMode.equals("perPlayer")) {
+      options.playbackThreadMode = ExoPlayerPool.THREAD_PER_PLAYER;
+    } else {
+      throw new IllegalArgumentException("Unknown thread mode: " + threadMode);
+    }
+  }
+
+  /**
+   * Applies {@code arg}'s commands in order in a single platform channel round trip. A failing
+   * command is reported in its result and doesn't stop the ones after it.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public BatchMessage batch(BatchMessage arg) {
+    List<Object> commands = arg.getCommands();
+    List<Object> results = new ArrayList<>(commands == null ? 0 : commands.size());
+    if (commands != null) {
+      for (Object command : commands) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+          result.put("result", runCommand((Map<String, Object>) command));
+        } catch (Error | RuntimeException e) {
+          // Like the generated handlers, so one failing command never loses the other results.
+          Map<String, Object> error = new HashMap<>();
+          error.put("code", e.getClass().getSimpleName());
+          error.put("message", e.toString());
+          error.put("details", null);
+          result.put("error", error);
+        }
+        results.add(result);
+      }
+    }
+    BatchMessage result = new BatchMessage();
+    result.setResults(results);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object runCommand(Map<String, Object> command) {
+    String method = (String) command.get("method");
+    Map<String, Object> arg = (Map<String, Object>) command.get("arg");
+    if (method == null) {
+      throw new IllegalArgumentException("Batch commands need a method");
+    }
+    switch (method) {
+      case "initialize":
+        initialize();
+        return null;
+      case "getPlayerPoolStats":
+        return getPlayerPoolStats().toMap();
+      case "getBufferStats":
+        return getBufferStats().toMap();
+      case "getDecoderStats":
+        return getDecoderStats().toMap();
+      case "createTexturePlayer":
+        return createTexturePlayer().toMap();
+      case "getHttpStats":
+        return getHttpStats().toMap();
+      case "getPreconnectStates":
+        return getPreconnectStates().toMap();
+      case "getDownloads":
+        return getDownloads().toMap();
+      case "batch":
+        throw new IllegalArgumentException("Batches can't be nested");
+      default:
+        break;
+    }
+    if (arg == null) {
+      throw new IllegalArgumentException("Batch command " + method + " needs an arg");
+    }
+    switch (method) {
+      case "create":
+        create(CreateMessage.fromMap(arg));
+        return null;
+      case "dispose":
+        dispose(TextureMessage.fromMap(arg));
+        return null;
+      case "setLooping":
+        setLooping(LoopingMessage.fromMap(arg));
+        return null;
+      case "setVolume":
+        setVolume(VolumeMessage.fromMap(arg));
+        return null;
+      case "setPlaybackSpeed":
+        setPlaybackSpeed(PlaybackSpeedMessage.fromMap(arg));
+        return null;
+      case "play":
+        play(TextureMessage.fromMap(arg));
+        return null;
+      case "pause":
+        pause(TextureMessage.fromMap(arg));
+        return null;
+      case "seekTo":
+        seekTo(PositionMessage.fromMap(arg));
+        return null;
+      case "position":
+        return position(TextureMessage.fromMap(arg)).toMap();
+      case "setMixWithOthers":
+        setMixWithOthers(MixWithOthersMessage.fromMap(arg));
+        return null;
+      case "setCacheOptions":
+        setCacheOptions(CacheOptionsMessage.fromMap(arg));
+        return null;
+      case "prefetch":
+        prefetch(PrefetchMessage.fromMap(arg));
+        return null;
+      case "cancelPrefetch":
+        cancelPrefetch(PrefetchMessage.fromMap(arg));
+        return null;
+      case "setPlayerPoolOptions":
+        setPlayerPoolOptions(PlayerPoolMessage.fromMap(arg));
+        return null;
+      case "setPlaybackThreadOptions":
+        setPlaybackThreadOptions(PlaybackThreadMessage.fromMap(arg));
+        return null;
+      case "getAudios":
+        return getAudios(TextureMessage.fromMap(arg)).toMap();
+      case "setAudio":
+        setAudio(AudioMessage.fromMap(arg));
+        return null;
+      case "setAudioByIndex":
+        setAudioByIndex(AudioMessage.fromMap(arg));
+        return null;
+      case "getSubtitles":
+        return getSubtitles(TextureMessage.fromMap(arg)).toMap();
+      case "setSubtitle":
+        setSubtitle(SubtitleMessage.fromMap(arg));
+        return null;
+      case "setSubtitleByIndex":
+        setSubtitleByIndex(SubtitleMessage.fromMap(arg));
+        return null;
+      case "getPlaybackMetrics":
+        return getPlaybackMetrics(TextureMessage.fromMap(arg)).toMap();
+      case "setPlaybackMetricsEvents":
+        setPlaybackMetricsEvents(PlaybackMetricsMessage.fromMap(arg));
+        return null;
+      case "setBufferOptions":
+        setBufferOptions(BufferOptionsMessage.fromMap(arg));
+        return null;
+      case "preconnect":
+        preconnect(PreconnectMessage.fromMap(arg));
+        return null;
+      case "setHttpOptions":
+        setHttpOptions(HttpOptionsMessage.fromMap(arg));
+        return null;
+      case "setDecoderOptions":
+        setDecoderOptions(DecoderOptionsMessage.fromMap(arg));
+        return null;
+      case "setProgressInterval":
+        setProgressInterval(ProgressIntervalMessage.fromMap(arg));
+        return null;
+      case "addPlaylistItems":
+        addPlaylistItems(PlaylistMessage.fromMap(arg));
+        return null;
+      case "removePlaylistItems":
+        removePlaylistItems(PlaylistMessage.fromMap(arg));
+        return null;
+      case "movePlaylistItem":
+        movePlaylistItem(PlaylistMessage.fromMap(arg));
+        return null;
+      case "seekToPlaylistItem":
+        seekToPlaylistItem(PlaylistMessage.fromMap(arg));
+        return null;
+      case "setAudioOnly":
+        setAudioOnly(AudioOnlyMessage.fromMap(arg));
+        return null;
+      case "setVideoConstraints":
+        setVideoConstraints(VideoConstraintsMessage.fromMap(arg));
+        return null;
+      case "startDownload":
+        startDownload(DownloadMessage.fromMap(arg));
+        return null;
+      case "pauseDownload":
+        pauseDownload(DownloadMessage.fromMap(arg));
+        return null;
+      case "removeDownload":
+        removeDownload(DownloadMessage.fromMap(arg));
+        return null;
+      case "setDownloadOptions":
+        setDownloadOptions(DownloadMessage.fromMap(arg));
+        return null;
+      default:
+        throw new IllegalArgumentException("Unsupported batch method: " + method);
+    }
+  }
+
+  @Override
+  public void setBufferOptions(BufferOptionsMessage arg) {
+    // The default profile applies to views created after this call, the budget applies at once.
+    options.bufferProfile = BufferProfile.fromMap(arg.getDefaultProfile(), BufferProfile.DEFAULT);
+    bufferBudget.setMaxBytes(arg.getMemoryBudgetBytes() == null ? 0 : arg.getMemoryBudgetBytes());
+  }
+
+  @Override
+  public BufferOptionsMessage getBufferStats() {
+    BufferOptionsMessage result = new BufferOptionsMessage();
+    result.setMemoryBudgetBytes(bufferBudget.getMaxBytes());
+    result.setAllocatedBytes(bufferBudget.getAllocatedBytes());
+    return result;
+  }
+
+  @Override
+  public TexturePlayerMessage createTexturePlayer() {
+    TextureRegistry.SurfaceTextureEntry textureEntry =
+        flutterState.textureRegistry.createSurfaceTexture();
+    long playerId = nextTexturePlayerId--;
+    buildPlayer(playerId, flutterState.applicationContext, textureEntry);
+    TexturePlayerMessage result = new TexturePlayerMessage();
+    result.setPlayerId(playerId);
+    result.setTextureId(textureEntry.id());
+    return result;
+  }
+
+  @Override
+  public void setHttpOptions(HttpOptionsMessage arg) {
+    // Applies to players and prefetches started after this call.
+    HttpStack httpStack = HttpStack.getInstance();
+    if (arg.getStack() != null) {
+      httpStack.setStack(arg.getStack());
+    }
+    if (arg.getDnsCacheTtlMs() != null) {
+      httpStack.setDnsCacheTtlMs(arg.getDnsCacheTtlMs());
+    }
+  }
+
+  @Override
+  public void preconnect(PreconnectMessage arg) {
+    if (arg.getHosts() == null) {
+      return;
+    }
+    if (preconnector == null) {
+      preconnector = new Preconnector(HttpStack.getInstance());
+    }
+    for (Object host : arg.getHosts()) {
+      preconnector.preconnect(host.toString());
+    }
+  }
+
+  @Override
+  public PreconnectMessage getPreconnectStates() {
+    Map<Object, Object> states = new HashMap<>();
+    if (preconnector != null) {
+      states.putAll(preconnector.getStates());
+    }
+    PreconnectMessage result = new PreconnectMessage();
+    result.setStates(states);
+    return result;
+  }
+
+  @Override
+  public HttpOptionsMessage getHttpStats() {
+    HttpStack httpStack = HttpStack.getInstance();
+    HttpOptionsMessage result = new HttpOptionsMessage();
+    result.setStack(httpStack.getStack());
+    result.setStats(new HashMap<>(httpStack.getStats()));
+    return result;
+  }
+
+  @Override
+  public void setDecoderOptions(DecoderOptionsMessage arg) {
+    // Decoder lists follow the new modes at once, the FFmpeg renderer only in new players.
+    Map<String, String> modes = new HashMap<>();
+    if (arg.getModes() != null) {
+      for (Map.Entry<Object, Object> entry : arg.getModes().entrySet()) {
+        modes.put((String) entry.getKey(), (String) entry.getValue());
+      }
+    }
+    DecoderTable.getInstance(flutterState.applicationContext)
+        .setModes(arg.getDefaultMode(), modes);
+  }
+
+  @Override
+  public DecoderOptionsMessage getDecoderStats() {
+    DecoderTable decoderTable = DecoderTable.getInstance(flutterState.applicationContext);
+    DecoderOptionsMessage result = new DecoderOptionsMessage();
+    result.setFfmpegAvailable(decoderTable.isFfmpegAvailable());
+    result.setStats(new HashMap<>(decoderTable.getStats()));
+    return result;
+  }
+
+  @Override
+  public void startDownload(DownloadMessage arg) {
+    VideoDownloads.getInstance(flutterState.applicationContext)
+        .start(arg.getUri(), arg.getFormatHint(), toInt(arg.getMaxBitrate()));
+  }
+
+  @Override
+  public void pauseDownload(DownloadMessage arg) {
+    VideoDownloads.getInstance(flutterState.applicationContext).pause(arg.getUri());
+  }
+
+  @Override
+  public void removeDownload(DownloadMessage arg) {
+    VideoDownloads.getInstance(flutterState.applicationContext).remove(arg.getUri());
+  }
+
+  @Override
+  public DownloadMessage getDownloads() {
+    VideoDownloads downloads = VideoDownloads.getInstance(flutterState.applicationContext);
+    DownloadMessage result = new DownloadMessage();
+    result.setDownloads(downloads.getDownloads());
+    result.setMaxBytes(downloads.getMaxBytes());
+    result.setUsedBytes(downloads.getUsedBytes());
+    return result;
+  }
+
+  @Override
+  public void setDownloadOptions(DownloadMessage arg) {
+    VideoDownloads.getInstance(flutterState.applicationContext)
+        .setMaxBytes(arg.getMaxBytes() == null ? 0 : arg.getMaxBytes());
+  }
+
   private interface KeyForAssetFn {
     String get(String asset);
   }
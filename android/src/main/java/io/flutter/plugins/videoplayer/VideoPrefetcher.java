@@ -0,0 +1,175 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.HttpDataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheWriter;
+import com.google.android.exoplayer2.util.Util;
+import io.flutter.Log;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms {@link VideoPlayerCache} with the start of media that is likely to be played soon.
+ *
+ * <p>Progressive media is fetched up to a byte budget, adaptive media (HLS, DASH, SmoothStreaming)
+ * has its top level manifest fetched. Later {@link VideoPlayer#setData} calls for the same URI then
+ * read the prefetched bytes from the cache. Work runs on a small fixed pool, highest priority
+ * first.
+ */
+final class VideoPrefetcher {
+  private static final String TAG = "VideoPrefetcher";
+  private static final int THREAD_COUNT = 2;
+  /** Bytes of progressive media fetched when no budget is given, a few seconds of HD video. */
+  static final long DEFAULT_MAX_BYTES = 2 * 1024 * 1024;
+
+  private final VideoPlayerCache cache;
+  private final ThreadPoolExecutor executor;
+  private final Map<String, PrefetchTask> tasks = new HashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  VideoPrefetcher(VideoPlayerCache cache) {
+    this.cache = cache;
+    executor =
+        new ThreadPoolExecutor(
+            THREAD_COUNT,
+            THREAD_COUNT,
+            30,
+            TimeUnit.SECONDS,
+            new PriorityBlockingQueue<>(),
+            runnable -> {
+              Thread thread = new Thread(runnable, TAG);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Schedules {@code uri} to be fetched. A pending request for the same URI is replaced, so calling
+   * this again re-prioritizes it. A {@code maxBytes} of 0 or less fetches {@link
+   * #DEFAULT_MAX_BYTES}, progressive media is never fetched whole.
+   */
+  synchronized void prefetch(
+      String uri, long maxBytes, int priority, Map<String, String> httpHeaders) {
+    cancel(uri);
+    PrefetchTask task =
+        new PrefetchTask(
+            uri,
+            maxBytes > 0 ? maxBytes : DEFAULT_MAX_BYTES,
+            priority,
+            sequence.getAndIncrement(),
+            httpHeaders);
+    tasks.put(uri, task);
+    executor.execute(task);
+  }
+
+  /** Cancels a queued or running fetch of {@code uri}. Does nothing if there is none. */
+  synchronized void cancel(String uri) {
+    PrefetchTask task = tasks.remove(uri);
+    if (task != null) {
+      task.cancel();
+      executor.remove(task);
+    }
+  }
+
+  synchronized void cancelAll() {
+    for (PrefetchTask task : tasks.values()) {
+      task.cancel();
+      executor.remove(task);
+    }
+    tasks.clear();
+  }
+
+  void release() {
+    cancelAll();
+    executor.shutdownNow();
+  }
+
+  private synchronized void onTaskFinished(PrefetchTask task) {
+    if (tasks.get(task.uri) == task) {
+      tasks.remove(task.uri);
+    }
+  }
+
+  private final class PrefetchTask implements Runnable, Comparable<PrefetchTask> {
+    final String uri;
+    private final long maxBytes;
+    private final int priority;
+    private final long sequence;
+    private final Map<String, String> httpHeaders;
+    private volatile boolean canceled;
+    private volatile CacheWriter cacheWriter;
+
+    PrefetchTask(
+        String uri, long maxBytes, int priority, long sequence, Map<String, String> httpHeaders) {
+      this.uri = uri;
+      this.maxBytes = maxBytes;
+      this.priority = priority;
+      this.sequence = sequence;
+      this.httpHeaders = httpHeaders;
+    }
+
+    void cancel() {
+      canceled = true;
+      CacheWriter writer = cacheWriter;
+      if (writer != null) {
+        writer.cancel();
+      }
+    }
+
+    @Override
+    public void run() {
+      if (canceled) {
+        return;
+      }
+      Uri parsed = Uri.parse(uri);
+      HttpDataSource.Factory httpDataSourceFactory =
+          HttpStack.getInstance().createFactory(httpHeaders, /* transferListener= */ null);
+      boolean progressive = Util.inferContentType(parsed) == C.TYPE_OTHER;
+      DataSpec dataSpec =
+          new DataSpec.Builder()
+              .setUri(parsed)
+              .setLength(progressive ? maxBytes : C.LENGTH_UNSET)
+              .build();
+      cacheWriter =
+          new CacheWriter(
+              cache.wrap(httpDataSourceFactory, null).createDataSource(),
+              dataSpec,
+              /* temporaryBuffer= */ null,
+              /* progressListener= */ null);
+      if (canceled) {
+        return;
+      }
+      try {
+        cacheWriter.cache();
+      } catch (InterruptedIOException e) {
+        // Canceled while fetching.
+      } catch (IOException e) {
+        Log.w(TAG, "Failed to prefetch " + uri, e);
+      } finally {
+        onTaskFinished(this);
+      }
+    }
+
+    @Override
+    public int compareTo(PrefetchTask other) {
+      if (priority != other.priority) {
+        // Higher priority first.
+        return priority > other.priority ? -1 : 1;
+      }
+      return Long.compare(sequence, other.sequence);
+    }
+  }
+}
@@ -0,0 +1,138 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugin.common.EventChannel;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class QueuingEventSinkTest {
+  private static Map<String, Object> event(String name) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", name);
+    return event;
+  }
+
+  @Test
+  public void queuesUntilDelegateIsSet() {
+    QueuingEventSink sink = new QueuingEventSink();
+    EventChannel.EventSink delegate = mock(EventChannel.EventSink.class);
+    Map<String, Object> initialized = event("initialized");
+    Map<String, Object> completed = event("completed");
+
+    sink.success(initialized);
+    sink.success(completed);
+    verify(delegate, never()).success(any());
+
+    sink.setDelegate(delegate);
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).success(initialized);
+    inOrder.verify(delegate).success(completed);
+  }
+
+  @Test
+  public void coalescesSupersededEvents() {
+    QueuingEventSink sink = new QueuingEventSink();
+    EventChannel.EventSink delegate = mock(EventChannel.EventSink.class);
+    Map<String, Object> initialized = event("initialized");
+    Map<String, Object> latestUpdate = event("bufferingUpdate");
+
+    sink.success(event("bufferingUpdate"));
+    sink.success(initialized);
+    sink.success(latestUpdate);
+    assertEquals(1, sink.getCoalescedCount());
+
+    sink.setDelegate(delegate);
+    // Both events plus the queue stats.
+    verify(delegate, times(3)).success(any());
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).success(initialized);
+    inOrder.verify(delegate).success(latestUpdate);
+  }
+
+  @Test
+  public void neverDropsLifecycleEvents() {
+    QueuingEventSink sink = new QueuingEventSink(2);
+    EventChannel.EventSink delegate = mock(EventChannel.EventSink.class);
+    Map<String, Object> initialized = event("initialized");
+    Map<String, Object> bufferingStart = event("bufferingStart");
+    Map<String, Object> completed = event("completed");
+
+    sink.success(initialized);
+    sink.success(bufferingStart);
+    sink.success(completed);
+    sink.error("VideoError", "Playback failed", null);
+    assertEquals(0, sink.getDroppedCount());
+
+    sink.setDelegate(delegate);
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).success(initialized);
+    inOrder.verify(delegate).success(bufferingStart);
+    inOrder.verify(delegate).success(completed);
+    inOrder.verify(delegate).error("VideoError", "Playback failed", null);
+  }
+
+  @Test
+  public void dropsNewCoalescableEventWhenFullOfLifecycleEvents() {
+    QueuingEventSink sink = new QueuingEventSink(2);
+    EventChannel.EventSink delegate = mock(EventChannel.EventSink.class);
+    Map<String, Object> initialized = event("initialized");
+    Map<String, Object> completed = event("completed");
+    Map<String, Object> progress = event("progress");
+
+    sink.success(initialized);
+    sink.success(completed);
+    sink.success(progress);
+    assertEquals(1, sink.getDroppedCount());
+
+    sink.setDelegate(delegate);
+    verify(delegate, never()).success(progress);
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).success(initialized);
+    inOrder.verify(delegate).success(completed);
+  }
+
+  @Test
+  public void prefersDroppingCoalescableEvents() {
+    QueuingEventSink sink = new QueuingEventSink(2);
+    EventChannel.EventSink delegate = mock(EventChannel.EventSink.class);
+    Map<String, Object> initialized = event("initialized");
+    Map<String, Object> progress = event("progress");
+    Map<String, Object> completed = event("completed");
+
+    sink.success(initialized);
+    sink.success(progress);
+    sink.success(completed);
+
+    sink.setDelegate(delegate);
+    verify(delegate, never()).success(progress);
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).success(initialized);
+    inOrder.verify(delegate).success(completed);
+  }
+
+  @Test
+  public void ignoresEventsAfterEndOfStream() {
+    QueuingEventSink sink = new QueuingEventSink();
+    EventChannel.EventSink delegate = mock(EventChannel.EventSink.class);
+    sink.setDelegate(delegate);
+
+    sink.endOfStream();
+    sink.success(event("initialized"));
+
+    verify(delegate).endOfStream();
+    verify(delegate, never()).success(any());
+  }
+}
@@ -0,0 +1,271 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static android.os.Looper.getMainLooper;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.net.Uri;
+import com.google.android.exoplayer2.database.DatabaseProvider;
+import com.google.android.exoplayer2.database.ExoDatabaseProvider;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.FileDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Drives {@link VideoDownloads} against local files read through {@link FileDataSource}, standing
+ * in for an HTTP server.
+ */
+@RunWith(RobolectricTestRunner.class)
+// From API 24 on, downloads wait for validated connectivity, which Robolectric doesn't report.
+@Config(sdk = 23)
+public class VideoDownloadsTest {
+  private static final int MEDIA_BYTES = 256 * 1024;
+  private static final long TIMEOUT_MS = 10000;
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final Gate gate = new Gate();
+  private File directory;
+  private DatabaseProvider databaseProvider;
+  private VideoDownloads downloads;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = folder.newFolder("downloads");
+    databaseProvider = new ExoDatabaseProvider(RuntimeEnvironment.getApplication());
+    downloads = openStore();
+  }
+
+  @After
+  public void tearDown() {
+    gate.open();
+    downloads.release();
+  }
+
+  @Test
+  public void downloadsAndPlaysFromTheStore() throws IOException {
+    String uri = createMedia("first.mp4");
+    assertNull(downloads.createMediaSource(uri, new FileDataSource.Factory()));
+
+    downloads.start(uri, null, 0);
+    gate.open();
+
+    Map<?, ?> download = awaitState(uri, VideoDownloads.STATE_COMPLETED);
+    assertEquals((long) MEDIA_BYTES, download.get("bytesDownloaded"));
+    assertEquals((long) MEDIA_BYTES, downloads.getUsedBytes());
+    assertNotNull(downloads.createMediaSource(uri, new FileDataSource.Factory()));
+  }
+
+  @Test
+  public void findsDownloadsOfAnEarlierSession() throws IOException {
+    String uri = createMedia("first.mp4");
+    gate.open();
+    downloads.start(uri, null, 0);
+    awaitState(uri, VideoDownloads.STATE_COMPLETED);
+    downloads.release();
+
+    downloads = openStore();
+    awaitState(uri, VideoDownloads.STATE_COMPLETED);
+    assertNotNull(downloads.createMediaSource(uri, new FileDataSource.Factory()));
+  }
+
+  @Test
+  public void resumesPausedDownload() throws IOException {
+    String uri = createMedia("first.mp4");
+
+    downloads.start(uri, null, 0);
+    awaitState(uri, VideoDownloads.STATE_DOWNLOADING);
+    downloads.pause(uri);
+    awaitState(uri, VideoDownloads.STATE_PAUSED);
+
+    gate.open();
+    downloads.start(uri, null, 0);
+    awaitState(uri, VideoDownloads.STATE_COMPLETED);
+  }
+
+  @Test
+  public void refusesDownloadsOnceQuotaIsUsedUp() throws IOException {
+    String first = createMedia("first.mp4");
+    String second = createMedia("second.mp4");
+    gate.open();
+    downloads.start(first, null, 0);
+    awaitState(first, VideoDownloads.STATE_COMPLETED);
+
+    downloads.setMaxBytes(MEDIA_BYTES);
+    try {
+      downloads.start(second, null, 0);
+      fail("Expected the download to be refused");
+    } catch (IllegalStateException expected) {
+      // The store already holds its quota.
+    }
+
+    downloads.setMaxBytes(0);
+    downloads.start(second, null, 0);
+    awaitState(second, VideoDownloads.STATE_COMPLETED);
+  }
+
+  @Test
+  public void pausesRunningDownloadsWhileOverQuota() throws IOException {
+    String first = createMedia("first.mp4");
+    String second = createMedia("second.mp4");
+    gate.open();
+    downloads.start(first, null, 0);
+    awaitState(first, VideoDownloads.STATE_COMPLETED);
+    gate.close();
+
+    downloads.start(second, null, 0);
+    awaitState(second, VideoDownloads.STATE_DOWNLOADING);
+    downloads.setMaxBytes(MEDIA_BYTES);
+    // A download held back by the quota is queued until there is room again.
+    awaitState(second, VideoDownloads.STATE_QUEUED);
+
+    downloads.setMaxBytes(0);
+    gate.open();
+    awaitState(second, VideoDownloads.STATE_COMPLETED);
+  }
+
+  private VideoDownloads openStore() {
+    return new VideoDownloads(
+        RuntimeEnvironment.getApplication(),
+        directory,
+        databaseProvider,
+        new GatedDataSourceFactory(gate));
+  }
+
+  private String createMedia(String name) throws IOException {
+    File file = folder.newFile(name);
+    byte[] data = new byte[MEDIA_BYTES];
+    new Random(name.hashCode()).nextBytes(data);
+    FileOutputStream stream = new FileOutputStream(file);
+    try {
+      stream.write(data);
+    } finally {
+      stream.close();
+    }
+    return Uri.fromFile(file).toString();
+  }
+
+  /** Runs the main looper until {@code uri}'s download is in {@code state}, and returns it. */
+  private Map<?, ?> awaitState(String uri, String state) {
+    long deadlineMs = System.currentTimeMillis() + TIMEOUT_MS;
+    Object lastState = null;
+    while (System.currentTimeMillis() < deadlineMs) {
+      shadowOf(getMainLooper()).idle();
+      for (Object object : downloads.getDownloads()) {
+        Map<?, ?> download = (Map<?, ?>) object;
+        if (uri.equals(download.get("uri"))) {
+          lastState = download.get("state");
+          if (state.equals(lastState)) {
+            return download;
+          }
+        }
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        throw new AssertionError(e);
+      }
+    }
+    throw new AssertionError("Download of " + uri + " is " + lastState + ", not " + state);
+  }
+
+  /** Holds the fetches of running downloads while closed. */
+  private static final class Gate {
+    private boolean open;
+
+    synchronized void open() {
+      open = true;
+      notifyAll();
+    }
+
+    synchronized void close() {
+      open = false;
+    }
+
+    synchronized void await() throws InterruptedException {
+      while (!open) {
+        wait();
+      }
+    }
+  }
+
+  /** Reads local files, each read waiting for the gate so a test can act on a running download. */
+  private static final class GatedDataSourceFactory implements DataSource.Factory {
+    private final Gate gate;
+    private final FileDataSource.Factory files = new FileDataSource.Factory();
+
+    GatedDataSourceFactory(Gate gate) {
+      this.gate = gate;
+    }
+
+    @Override
+    public DataSource createDataSource() {
+      return new GatedDataSource(gate, files.createDataSource());
+    }
+  }
+
+  private static final class GatedDataSource implements DataSource {
+    private final Gate gate;
+    private final DataSource delegate;
+
+    GatedDataSource(Gate gate, DataSource delegate) {
+      this.gate = gate;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void addTransferListener(TransferListener transferListener) {
+      delegate.addTransferListener(transferListener);
+    }
+
+    @Override
+    public long open(DataSpec dataSpec) throws IOException {
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        // Pausing or removing a download interrupts its fetch.
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+      return delegate.open(dataSpec);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      return delegate.read(buffer, offset, length);
+    }
+
+    @Override
+    public Uri getUri() {
+      return delegate.getUri();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+}
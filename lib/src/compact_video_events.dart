@@ -0,0 +1,145 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart';
+
+/// The kind of a [CompactVideoEvent].
+enum CompactVideoEventType {
+  /// The buffered position changed, only [CompactVideoEvent.buffered] is set.
+  bufferingUpdate,
+
+  /// Periodic playback progress.
+  progress,
+
+  /// An event type the plugin doesn't know about yet.
+  unknown,
+}
+
+/// A high frequency player event decoded from its fixed size binary record.
+///
+/// Records are [recordSize] little endian bytes: the event type as an int8 at
+/// offset 0, followed by the position and the buffered position in
+/// milliseconds and the native playback state as int64s at offsets 8, 16 and
+/// 24.
+class CompactVideoEvent {
+  /// Creates a new [CompactVideoEvent].
+  const CompactVideoEvent({
+    required this.eventType,
+    this.position = Duration.zero,
+    this.buffered = Duration.zero,
+    this.playbackState = 0,
+  });
+
+  /// Decodes a record sent by the platform side.
+  factory CompactVideoEvent.decode(ByteData data) {
+    if (data.lengthInBytes < recordSize) {
+      return const CompactVideoEvent(eventType: CompactVideoEventType.unknown);
+    }
+    final CompactVideoEventType eventType;
+    switch (data.getInt8(0)) {
+      case 1:
+        eventType = CompactVideoEventType.bufferingUpdate;
+        break;
+      case 2:
+        eventType = CompactVideoEventType.progress;
+        break;
+      default:
+        eventType = CompactVideoEventType.unknown;
+    }
+    return CompactVideoEvent(
+      eventType: eventType,
+      position: Duration(milliseconds: data.getInt64(8, Endian.little)),
+      buffered: Duration(milliseconds: data.getInt64(16, Endian.little)),
+      playbackState: data.getInt64(24, Endian.little),
+    );
+  }
+
+  /// The size of an encoded event in bytes.
+  static const int recordSize = 32;
+
+  /// The kind of event.
+  final CompactVideoEventType eventType;
+
+  /// The playback position, only set for [CompactVideoEventType.progress].
+  final Duration position;
+
+  /// The end of the buffered range that starts at zero.
+  final Duration buffered;
+
+  /// The native player state, only set for [CompactVideoEventType.progress].
+  final int playbackState;
+}
+
+/// Receives the [CompactVideoEvent]s of a single player.
+///
+/// The platform side keeps sending the regular map based events until
+/// [listen] is called. Progress is only sent once [setProgressInterval] was
+/// called with a non-zero interval.
+class CompactVideoEventChannel {
+  /// Creates a channel for the player with the given [textureId].
+  CompactVideoEventChannel(this._textureId)
+      : _channel = BasicMessageChannel<ByteData>(
+            'flutter.io/videoPlayer/videoEventsCompact$_textureId',
+            const BinaryCodec());
+
+  static const BasicMessageChannel<Object?> _progressIntervalChannel =
+      BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.VideoPlayerApi.setProgressInterval',
+          StandardMessageCodec());
+
+  final int _textureId;
+  final BasicMessageChannel<ByteData> _channel;
+
+  /// Asks the platform side to switch to compact events and delivers them to
+  /// [onEvent].
+  ///
+  /// With [progressOnly], buffering updates keep coming as map based events
+  /// and only progress is delivered here.
+  Future<void> listen(void Function(CompactVideoEvent event) onEvent,
+      {bool progressOnly = false}) async {
+    _channel.setMessageHandler((ByteData? message) async {
+      if (message != null) {
+        onEvent(CompactVideoEvent.decode(message));
+      }
+      return ByteData(0);
+    });
+    await _channel.send(_mode(progressOnly ? 2 : 1));
+  }
+
+  /// Switches the platform side back to map based events and stops listening.
+  Future<void> cancel() async {
+    _channel.setMessageHandler(null);
+    await _channel.send(_mode(0));
+  }
+
+  /// Asks the platform side to send progress every [interval] while the
+  /// player is playing, and once more when it stops. [Duration.zero] turns
+  /// progress off.
+  Future<void> setProgressInterval(Duration interval) async {
+    final Map<Object?, Object?>? reply = await _progressIntervalChannel
+        .send(<Object?, Object?>{
+      'textureId': _textureId,
+      'intervalMs': interval.inMilliseconds,
+    }) as Map<Object?, Object?>?;
+    if (reply == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    }
+    final Map<Object?, Object?>? error =
+        reply['error'] as Map<Object?, Object?>?;
+    if (error != null) {
+      throw PlatformException(
+        code: error['code'] as String,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    }
+  }
+
+  static ByteData _mode(int mode) => ByteData(1)..setInt8(0, mode);
+}
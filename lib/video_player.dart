@@ -15,6 +15,7 @@ export 'package:video_player_platform_interface/video_player_platform_interface.
     show DurationRange, DataSourceType, VideoFormat, VideoPlayerOptions;
 
 import 'src/closed_caption_file.dart';
+import 'src/compact_video_events.dart';
 export 'src/closed_caption_file.dart';
 
 final VideoPlayerPlatform _videoPlayerPlatform = VideoPlayerPlatform.instance
@@ -193,7 +194,10 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     initialize();
   }
   VideoPlayerController.asset(this.dataSource,
-      {this.package, this.closedCaptionFile, this.videoPlayerOptions})
+      {this.package,
+      this.closedCaptionFile,
+      this.videoPlayerOptions,
+      this.compactEvents = false})
       : dataSourceType = DataSourceType.asset,
         formatHint = null,
         httpHeaders = const {},
@@ -214,6 +218,7 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     this.closedCaptionFile,
     this.videoPlayerOptions,
     this.httpHeaders = const {},
+    this.compactEvents = false,
   })  : dataSourceType = DataSourceType.network,
         package = null,
         super(VideoPlayerValue(duration: Duration.zero));
@@ -223,7 +228,9 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   /// This will load the file from the file-URI given by:
   /// `'file://${file.path}'`.
   VideoPlayerController.file(File file,
-      {this.closedCaptionFile, this.videoPlayerOptions})
+      {this.closedCaptionFile,
+      this.videoPlayerOptions,
+      this.compactEvents = false})
       : dataSource = 'file://${file.path}',
         dataSourceType = DataSourceType.file,
         package = null,
@@ -261,15 +268,25 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   /// [initialize()] is called.
   final Future<ClosedCaptionFile>? closedCaptionFile;
 
+  /// **Android only**. Receive buffering updates as fixed size binary records
+  /// instead of maps, which avoids encoding and decoding a map for each of
+  /// these frequent events. Progress always arrives as records on Android.
+  final bool compactEvents;
+
   ClosedCaptionFile? _closedCaptionFile;
   Timer? _timer;
+  bool _isProgressStreaming = false;
   bool _isDisposed = false;
   Completer<void>? _creatingCompleter;
   Completer<void> buildViewCompleter = Completer();
 
   StreamSubscription<dynamic>? _eventSubscription;
+  CompactVideoEventChannel? _compactEventChannel;
   late _VideoAppLifeCycleObserver _lifeCycleObserver;
 
+  /// How often the position is updated while playing.
+  static const Duration _positionInterval = Duration(milliseconds: 500);
+
   /// The id of a texture that hasn't been initialized.
   @visibleForTesting
   static const int kUninitializedTextureId = -1;
@@ -376,6 +393,12 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     _eventSubscription = _videoPlayerPlatform
         .videoEventsFor(_textureId)
         .listen(eventListener, onError: errorListener);
+    if (Platform.isAndroid) {
+      // The platform side pushes the position while playing, so it doesn't
+      // have to be polled.
+      _compactEventChannel = CompactVideoEventChannel(_textureId)
+        ..listen(_onCompactEvent, progressOnly: !compactEvents);
+    }
     return initializingCompleter.future;
   }
 
@@ -412,6 +435,7 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
         _isDisposed = true;
         _timer?.cancel();
         await _eventSubscription?.cancel();
+        await _compactEventChannel?.cancel();
         await _videoPlayerPlatform.dispose(_textureId);
       }
       _lifeCycleObserver.dispose();
@@ -464,19 +488,10 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
 
       // Cancel previous timer.
       _timer?.cancel();
-      _timer = Timer.periodic(
-        const Duration(milliseconds: 500),
-        (Timer timer) async {
-          if (_isDisposed) {
-            return;
-          }
-          final Duration? newPosition = await position;
-          if (newPosition == null) {
-            return;
-          }
-          _updatePosition(newPosition);
-        },
-      );
+      await _startProgressStreaming();
+      if (!_isProgressStreaming) {
+        _startPositionTimer();
+      }
 
       // This ensures that the correct playback speed is always applied when
       // playing back. This is necessary because we do not set playback speed
@@ -488,6 +503,34 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     }
   }
 
+  Future<void> _startProgressStreaming() async {
+    if (_isProgressStreaming || _compactEventChannel == null) {
+      return;
+    }
+    try {
+      await _compactEventChannel!.setProgressInterval(_positionInterval);
+      _isProgressStreaming = true;
+    } on PlatformException {
+      // Fall back to polling the position.
+    }
+  }
+
+  void _startPositionTimer() {
+    _timer = Timer.periodic(
+      _positionInterval,
+      (Timer timer) async {
+        if (_isDisposed) {
+          return;
+        }
+        final Duration? newPosition = await position;
+        if (newPosition == null) {
+          return;
+        }
+        _updatePosition(newPosition);
+      },
+    );
+  }
+
   Future<void> _applyVolume() async {
     if (_isDisposedOrNotInitialized) {
       return;
@@ -601,6 +644,25 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
     return Caption.none;
   }
 
+  void _onCompactEvent(CompactVideoEvent event) {
+    if (_isDisposed) {
+      return;
+    }
+    switch (event.eventType) {
+      case CompactVideoEventType.bufferingUpdate:
+        value = value.copyWith(
+            buffered: <DurationRange>[DurationRange(Duration.zero, event.buffered)]);
+        break;
+      case CompactVideoEventType.progress:
+        value = value.copyWith(
+            buffered: <DurationRange>[DurationRange(Duration.zero, event.buffered)]);
+        _updatePosition(event.position);
+        break;
+      case CompactVideoEventType.unknown:
+        break;
+    }
+  }
+
   void _updatePosition(Duration position) {
     value = value.copyWith(position: position);
     value = value.copyWith(caption: _getCaptionAt(position));
@@ -52,12 +52,151 @@ class CreateMessage {
   String formatHint;
   int textureId;
   Map<String, String> httpHeaders;
+  Map<String, Object> bufferProfile;
+  Map<String, Object> liveConfiguration;
 }
 
 class MixWithOthersMessage {
   bool mixWithOthers;
 }
 
+class CacheOptionsMessage {
+  int maxCacheSize;
+}
+
+/// `maxBytes` bounds how much of progressive media is fetched, 2 MiB if it is
+/// null or not positive.
+class PrefetchMessage {
+  List<String> uris;
+  int maxBytes;
+  int priority;
+  Map<String, String> httpHeaders;
+}
+
+class PlayerPoolMessage {
+  int maxSize;
+  int idleCount;
+  int hitCount;
+  int missCount;
+  int totalConstructionTimeUs;
+  int pendingReleaseCount;
+  int releaseTimeoutCount;
+}
+
+/// `threadMode` is `main`, `shared` or `perPlayer`. While the player pool is
+/// disabled, `main` players run on the shared thread instead, since releasing
+/// them on dispose would block the platform thread.
+class PlaybackThreadMessage {
+  String threadMode;
+}
+
+class ProgressIntervalMessage {
+  int textureId;
+  int intervalMs;
+}
+
+/// Buffer profiles are maps with an optional `preset`, one of `default`,
+/// `low-latency-start`, `memory-saver` and `long-form`, and any of
+/// `minBufferMs`, `maxBufferMs`, `bufferForPlaybackMs`,
+/// `bufferForPlaybackAfterRebufferMs`, `targetBufferBytes` and
+/// `prioritizeTimeOverSizeThresholds` overriding the preset.
+class BufferOptionsMessage {
+  Map<String, Object> defaultProfile;
+  int memoryBudgetBytes;
+  int allocatedBytes;
+}
+
+/// `modes` maps MIME types to `prefer`, `fallback` or `off`, overriding
+/// `defaultMode` for those codecs.
+class DecoderOptionsMessage {
+  String defaultMode;
+  Map<String, Object> modes;
+  bool ffmpegAvailable;
+  Map<String, Object> stats;
+}
+
+/// A player rendering into a Flutter texture. `playerId` is passed as the
+/// `textureId` of every other call, `textureId` is shown with a `Texture`.
+class TexturePlayerMessage {
+  int playerId;
+  int textureId;
+}
+
+/// `stack` is `okhttp`, one client shared by all players, or `default`,
+/// `HttpURLConnection`.
+class HttpOptionsMessage {
+  String stack;
+  int dnsCacheTtlMs;
+  Map<String, Object> stats;
+}
+
+/// `hosts` are host names or URLs. `states` maps each origin to `cold`,
+/// `warming`, `warm` or `failed`.
+class PreconnectMessage {
+  List<Object> hosts;
+  Map<String, Object> states;
+}
+
+/// Each of `items` is a map with either a `uri`, and optionally a `formatHint`
+/// and `httpHeaders`, or an `asset` and optionally a `packageName`. `index` is
+/// where items are added, the first item removed or moved, or the item to seek
+/// to. `toIndex` ends a removal, exclusive, or is where an item moves to.
+class PlaylistMessage {
+  int textureId;
+  List<Object> items;
+  int index;
+  int toIndex;
+  int positionMs;
+}
+
+/// While `audioOnly` is set, the player neither decodes nor renders video.
+class AudioOnlyMessage {
+  int textureId;
+  bool audioOnly;
+}
+
+/// Caps on the selected video rendition, 0 or null for none. The viewport, in
+/// pixels, defaults to the platform view's size and must be set for texture
+/// players.
+class VideoConstraintsMessage {
+  int textureId;
+  int maxBitrate;
+  int maxWidth;
+  int maxHeight;
+  int viewportWidth;
+  int viewportHeight;
+}
+
+/// A download is keyed by its `uri`. `maxBitrate` caps the renditions of
+/// adaptive media that are downloaded. `maxBytes` is the quota of the download
+/// store, 0 for none. Each of `downloads` is a map with the `uri`, its `state`,
+/// one of `queued`, `downloading`, `paused`, `completed`, `failed` or
+/// `removing`, and its `bytesDownloaded`, `contentLength` and
+/// `percentDownloaded`.
+class DownloadMessage {
+  String uri;
+  String formatHint;
+  int maxBitrate;
+  int maxBytes;
+  int usedBytes;
+  List<Object> downloads;
+}
+
+class PlaybackMetricsMessage {
+  int textureId;
+  bool eventsEnabled;
+  Map<String, Object> metrics;
+}
+
+/// Each command is a map with the `method` name of a [VideoPlayerApi] call and
+/// its `arg` message encoded as a map, omitted for calls without one. Every
+/// call but `batch` itself may be batched. Each result is a map holding either
+/// the call's `result` or an `error` with a `code` and a `message`.
+class BatchMessage {
+  List<Object> commands;
+  List<Object> results;
+}
+
 @HostApi(dartHostTestHandler: 'TestHostVideoPlayerApi')
 abstract class VideoPlayerApi {
   void initialize();
@@ -77,6 +216,36 @@ abstract class VideoPlayerApi {
   void setSubtitle(SubtitleMessage msg);
   SubtitleMessage getSubtitles(TextureMessage msg);
   void setSubtitleByIndex(SubtitleMessage msg);
+  void setCacheOptions(CacheOptionsMessage msg);
+  void prefetch(PrefetchMessage msg);
+  void cancelPrefetch(PrefetchMessage msg);
+  void setPlayerPoolOptions(PlayerPoolMessage msg);
+  PlayerPoolMessage getPlayerPoolStats();
+  void setPlaybackThreadOptions(PlaybackThreadMessage msg);
+  void setProgressInterval(ProgressIntervalMessage msg);
+  BatchMessage batch(BatchMessage msg);
+  PlaybackMetricsMessage getPlaybackMetrics(TextureMessage msg);
+  void setPlaybackMetricsEvents(PlaybackMetricsMessage msg);
+  void setBufferOptions(BufferOptionsMessage msg);
+  BufferOptionsMessage getBufferStats();
+  void setDecoderOptions(DecoderOptionsMessage msg);
+  DecoderOptionsMessage getDecoderStats();
+  TexturePlayerMessage createTexturePlayer();
+  void setHttpOptions(HttpOptionsMessage msg);
+  HttpOptionsMessage getHttpStats();
+  void preconnect(PreconnectMessage msg);
+  PreconnectMessage getPreconnectStates();
+  void addPlaylistItems(PlaylistMessage msg);
+  void removePlaylistItems(PlaylistMessage msg);
+  void movePlaylistItem(PlaylistMessage msg);
+  void seekToPlaylistItem(PlaylistMessage msg);
+  void setAudioOnly(AudioOnlyMessage msg);
+  void setVideoConstraints(VideoConstraintsMessage msg);
+  void startDownload(DownloadMessage msg);
+  void pauseDownload(DownloadMessage msg);
+  void removeDownload(DownloadMessage msg);
+  DownloadMessage getDownloads();
+  void setDownloadOptions(DownloadMessage msg);
 
 }
 
@@ -0,0 +1,103 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:video_player/src/compact_video_events.dart';
+
+ByteData _record(int type, int position, int buffered, int state) {
+  return ByteData(CompactVideoEvent.recordSize)
+    ..setInt8(0, type)
+    ..setInt64(8, position, Endian.little)
+    ..setInt64(16, buffered, Endian.little)
+    ..setInt64(24, state, Endian.little);
+}
+
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('CompactVideoEvent', () {
+    test('decodes progress', () {
+      final CompactVideoEvent event =
+          CompactVideoEvent.decode(_record(2, 1500, 4000, 3));
+
+      expect(event.eventType, CompactVideoEventType.progress);
+      expect(event.position, const Duration(milliseconds: 1500));
+      expect(event.buffered, const Duration(milliseconds: 4000));
+      expect(event.playbackState, 3);
+    });
+
+    test('decodes buffering update', () {
+      final CompactVideoEvent event =
+          CompactVideoEvent.decode(_record(1, 0, 2500, 0));
+
+      expect(event.eventType, CompactVideoEventType.bufferingUpdate);
+      expect(event.buffered, const Duration(milliseconds: 2500));
+    });
+
+    test('unknown type and short records', () {
+      expect(CompactVideoEvent.decode(_record(9, 0, 0, 0)).eventType,
+          CompactVideoEventType.unknown);
+      expect(CompactVideoEvent.decode(ByteData(8)).eventType,
+          CompactVideoEventType.unknown);
+    });
+  });
+  group('CompactVideoEventChannel', () {
+    test('listens in the requested mode', () async {
+      final List<int> modes = <int>[];
+      _ambiguate(ServicesBinding.instance)!
+          .defaultBinaryMessenger
+          .setMockMessageHandler('flutter.io/videoPlayer/videoEventsCompact7',
+              (ByteData? message) async {
+        modes.add(message!.getInt8(0));
+        return null;
+      });
+      final CompactVideoEventChannel channel = CompactVideoEventChannel(7);
+
+      await channel.listen((CompactVideoEvent event) {}, progressOnly: true);
+      await channel.cancel();
+      await channel.listen((CompactVideoEvent event) {});
+
+      expect(modes, <int>[2, 0, 1]);
+    });
+
+    test('sets the progress interval', () async {
+      Object? request;
+      const BasicMessageChannel<Object?>(
+              'dev.flutter.pigeon.VideoPlayerApi.setProgressInterval',
+              StandardMessageCodec())
+          .setMockMessageHandler((Object? message) async {
+        request = message;
+        return <Object?, Object?>{};
+      });
+
+      await CompactVideoEventChannel(7)
+          .setProgressInterval(const Duration(milliseconds: 250));
+
+      expect(request,
+          <Object?, Object?>{'textureId': 7, 'intervalMs': 250});
+    });
+
+    test('reports a failed progress interval', () async {
+      const BasicMessageChannel<Object?>(
+              'dev.flutter.pigeon.VideoPlayerApi.setProgressInterval',
+              StandardMessageCodec())
+          .setMockMessageHandler((Object? message) async {
+        return <Object?, Object?>{
+          'error': <Object?, Object?>{'code': 'Error', 'message': 'failed'},
+        };
+      });
+
+      expect(
+          CompactVideoEventChannel(7)
+              .setProgressInterval(const Duration(milliseconds: 250)),
+          throwsA(isA<PlatformException>()));
+    });
+  });
+}
+
+/// This allows a value of type T or T? to be treated as a value of type T?.
+T? _ambiguate<T>(T? value) => value;